@@ -1,42 +1,56 @@
 package com.valkryst.V2DSprite;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.valkryst.V2DSprite.cache.AssetCache;
 import com.valkryst.V2DSprite.event.AnimationEvent;
 import com.valkryst.V2DSprite.listener.AnimationEventListener;
 import com.valkryst.V2DSprite.type.AnimationEventType;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
-import lombok.SneakyThrows;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.util.*;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.zip.DataFormatException;
 
 public class Animation {
-	private final static Map<Class, Cache<Integer, Object>> DATA_CACHES = new HashMap<>();
-
-	private final List<AnimationEventListener> listeners = new ArrayList<>(0);
+	/**
+	 * <p>
+	 *     Whether drawing should avoid waiting for a {@link SpriteSheet} to be
+	 *     loaded.
+	 * </p>
+	 *
+	 * <p>
+	 *     When enabled, and the sheet of a frame is not in memory, the sheet is
+	 *     loaded in the background and the {@link #placeholder} is drawn
+	 *     instead of the frame until the sheet is ready.
+	 * </p>
+	 *
+	 * <p>
+	 *     If the sheet fails to load, then the placeholder is drawn, and the
+	 *     load is not retried until the cache's
+	 *     {@link AssetCache#setRetryDelay retry delay} has passed. Failures
+	 *     are reported to {@link AssetCache#addAssetLoadFailureListener
+	 *     AssetLoadFailureListener}s, and by the future returned from
+	 *     {@link SpriteSheet#loadAsync(String)}.
+	 * </p>
+	 */
+	@Getter @Setter private static volatile boolean nonBlockingDraw = false;
 
-	private final String spriteName;
+	/**
+	 * The image drawn, scaled to the size of the frame, in place of a frame
+	 * whose sheet is still loading. If null, then nothing is drawn.
+	 */
+	@Getter @Setter private static volatile Image placeholder = null;
 
-	// todo document
-	private final CollisionBox[] collisionBoxes;
+	/** The listeners, or null if no listener has been added. */
+	private List<AnimationEventListener> listeners;
 
-	private final Frame[] frames;
+	/** The clip being played. */
+	@Getter private final AnimationClip clip;
 
 	/** Index of the current frame. */
-	private int frameIndex = 0;
+	@Getter private int frameIndex = 0;
 
 	/**
 	 * The time elapsed, in milliseconds, since the current frame was first
@@ -44,9 +58,6 @@ public class Animation {
 	 */
 	private double frameTime = 0;
 
-	// todo document
-	private final Hitbox[] hitboxes;
-
 	/** Whether to ignore calls to {@link #update(double)}. */
 	@Getter private boolean paused = false;
 
@@ -79,96 +90,21 @@ public class Animation {
 	 * 				be {@code "walk.ini"} in the {@code "/sprites/hero"}
 	 * 				directory.
 	 * 			</p>
+	 *
+	 * @see AnimationClip#load(String, String)
 	 */
-	@SneakyThrows
 	public Animation(final @NonNull String spriteName, final @NonNull String animationName) {
-		this.spriteName = spriteName;
-		this.frames = (Frame[]) loadData(Frame.class, spriteName, animationName);
-
-		CollisionBox[] collisionBoxes;
-		try {
-			collisionBoxes = (CollisionBox[]) loadData(CollisionBox.class, spriteName, animationName);
-
-			if (collisionBoxes.length != frames.length) {
-				throw new IllegalStateException("There must be an equal number of collision boxes and frames. There are currently " + collisionBoxes.length + " collision boxes and " + frames.length + " frames.");
-			}
-		} catch (final FileNotFoundException e) {
-			e.printStackTrace();
-			collisionBoxes = new CollisionBox[0];
-		}
-		this.collisionBoxes = collisionBoxes;
-
-
-		Hitbox[] hitboxes;
-		try {
-			hitboxes = (Hitbox[]) loadData(Hitbox.class, spriteName, animationName);
-
-			if (hitboxes.length != frames.length) {
-				throw new IllegalStateException("There must be an equal number of hitboxes and frames. There are currently " + hitboxes.length + " hitboxes and " + frames.length + " frames.");
-			}
-		} catch (final FileNotFoundException e) {
-			e.printStackTrace();
-			hitboxes = new Hitbox[0];
-		}
-		this.hitboxes = hitboxes;
+		this(AnimationClip.load(spriteName, animationName));
 	}
 
-	private Object loadData(final Class klass, final String spriteName, final String animationName) throws IOException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-		/*
-		 * Attempt to load data from one of the caches, or create a new cache
-		 * if required.
-		 */
-		final int cacheKey = Objects.hash(spriteName, animationName);
-		Object data;
-
-		if (DATA_CACHES.containsKey(klass)) {
-			data = DATA_CACHES.get(klass).getIfPresent(cacheKey);
-
-			if (data != null) {
-				return data;
-			}
-		} else {
-			DATA_CACHES.put(
-				klass,
-				Caffeine.newBuilder()
-						.initialCapacity(0)
-						.expireAfterAccess(5, TimeUnit.MINUTES)
-						.build()
-			);
-		}
-
-		// Attempt to load data from the JAR.
-		final var path = String.format(
-			"/sprites/%s/animations/%s_%s.tsv",
-			spriteName,
-			animationName,
-			klass.getSimpleName().toLowerCase(Locale.ROOT)
-		);
-
-		final var inputStream = Animation.class.getResourceAsStream(path);
-		if (inputStream == null) {
-			throw new FileNotFoundException("Could not load data from '" + path + "'.");
-		}
-
-		final var bufferedReader = new BufferedReader(
-			new InputStreamReader(
-				Objects.requireNonNull(Animation.class.getResourceAsStream(path))
-			)
-		);
-
-		final var lines = bufferedReader.lines().toList();
-		bufferedReader.close();
-
-		// Attempt to construct objects from the loaded data.
-		final var fromMethod = klass.getMethod("from", String.class, int.class);
-
-		data = Array.newInstance(klass, lines.size());
-		for (int i = 0 ; i < lines.size() ; i++) {
-			Array.set(data, i, fromMethod.invoke(null, lines.get(i), '\t'));
-		}
-		DATA_CACHES.get(klass).put(cacheKey, data);
-
-		return data;
+	/**
+	 * Constructs a new {@code Animation}, which plays an already loaded
+	 * {@link AnimationClip}.
+	 *
+	 * @param clip The clip to play.
+	 */
+	public Animation(final @NonNull AnimationClip clip) {
+		this.clip = clip;
 	}
 
 	/**
@@ -195,12 +131,15 @@ public class Animation {
 		 */
 		frameTime += deltaTime * speed * 1000;
 
-		while (frameTime >= frames[frameIndex].duration()) {
-			frameTime -= frames[frameIndex].duration();
+		final var durations = clip.durations;
+		final var lastIndex = durations.length - 1;
+
+		while (frameTime >= durations[frameIndex]) {
+			frameTime -= durations[frameIndex];
 
 			if (reversed) {
 				if (frameIndex == 0) {
-					frameIndex = frames.length - 1;
+					frameIndex = lastIndex;
 					sendEvent(AnimationEventType.FIRST_FRAME);
 					continue;
 				}
@@ -211,13 +150,13 @@ public class Animation {
 					continue;
 				}
 			} else {
-				if (frameIndex == frames.length - 1) {
+				if (frameIndex == lastIndex) {
 					frameIndex = 0;
 					sendEvent(AnimationEventType.FIRST_FRAME);
 					continue;
 				}
 
-				if (frameIndex == frames.length - 2) {
+				if (frameIndex == lastIndex - 1) {
 					frameIndex++;
 					sendEvent(AnimationEventType.LAST_FRAME);
 					continue;
@@ -232,7 +171,7 @@ public class Animation {
 	/** Resets the animation to its initial state. */
 	public void reset() {
 		if (reversed) {
-			frameIndex = frames.length - 1;
+			frameIndex = clip.frames.length - 1;
 			sendEvent(AnimationEventType.LAST_FRAME);
 		} else {
 			frameIndex = 0;
@@ -257,21 +196,116 @@ public class Animation {
 	 * }</pre>
 	 *
 	 * @param gc The graphics context to draw on.
+	 *
+	 * @see #setNonBlockingDraw(boolean)
 	 */
 	public void draw(final @NonNull Graphics gc) {
-		final var frame = frames[frameIndex];
 		final var clipBounds = gc.getClipBounds();
+		draw(gc, clipBounds.x, clipBounds.y);
+	}
+
+	/**
+	 * <p>
+	 *     Draws the current {@link Frame} on a given graphics context, with its
+	 *     top-left pixel at the given position.
+	 * </p>
+	 *
+	 * <p>
+	 *     If the clip has been sliced, see {@link AnimationClip#slice}, then
+	 *     the frame's own image is drawn directly. Otherwise, the frame is
+	 *     drawn from the sprite sheet.
+	 * </p>
+	 *
+	 * @param gc The graphics context to draw on.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 *
+	 * @see #setNonBlockingDraw(boolean)
+	 */
+	public void draw(final @NonNull Graphics gc, final int x, final int y) {
+		final Image sheetImage = clip.frameImages == null ? getSheetImage(clip.getSpriteName()) : null;
+		drawFrame(gc, clip, frameIndex, sheetImage, x, y);
+	}
+
+	/**
+	 * Draws a frame of a clip on a given graphics context.
+	 *
+	 * @param gc The graphics context to draw on.
+	 * @param clip The clip.
+	 * @param frameIndex Index of the frame.
+	 *
+	 * @param sheetImage
+	 * 			The image of the clip's {@link SpriteSheet}, or null if it is
+	 * 			still loading. Ignored if the clip has been sliced.
+	 *
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 */
+	static void drawFrame(final Graphics gc, final AnimationClip clip, final int frameIndex, final Image sheetImage, final int x, final int y) {
+		drawFrame(gc, clip, frameIndex, sheetImage, 0, x, y);
+	}
+
+	/**
+	 * Draws a frame of a clip on a given graphics context, from a mip level
+	 * of the clip's {@link SpriteSheet}.
+	 *
+	 * @param gc The graphics context to draw on.
+	 * @param clip The clip.
+	 * @param frameIndex Index of the frame.
+	 *
+	 * @param sheetImage
+	 * 			The given mip level of the clip's {@link SpriteSheet}, or null
+	 * 			if it is still loading. Ignored if the clip has been sliced.
+	 *
+	 * @param mipLevel The mip level of the sheet image, see {@link SpriteSheet#getMipLevel(int)}.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 */
+	private static void drawFrame(final Graphics gc, final AnimationClip clip, final int frameIndex, final Image sheetImage, final int mipLevel, final int x, final int y) {
+		final var frameImages = clip.frameImages;
+		if (frameImages != null) {
+			gc.drawImage(frameImages[frameIndex], x, y, null);
+			return;
+		}
+
+		final var frame = clip.frames[frameIndex];
+
+		if (sheetImage == null) {
+			final var placeholder = Animation.placeholder;
+
+			if (placeholder != null) {
+				gc.drawImage(placeholder, x, y, frame.width(), frame.height(), null);
+			}
+
+			return;
+		}
+
+		// Only the untrimmed part of a frame which was trimmed into an atlas exists in the sheet.
+		final var trims = clip.trims;
+		final int left, top, right, bottom;
+		if (trims == null) {
+			left = 0;
+			top = 0;
+			right = frame.width();
+			bottom = frame.height();
+		} else {
+			final var offset = frameIndex * 4;
+			left = trims[offset];
+			top = trims[offset + 1];
+			right = frame.width() - trims[offset + 2];
+			bottom = frame.height() - trims[offset + 3];
+		}
 
 		gc.drawImage(
-			SpriteSheet.load(spriteName).getImage(),
-			clipBounds.x,
-			clipBounds.y,
-			clipBounds.x + frame.width(),
-			clipBounds.y + frame.height(),
-			frame.x(),
-			frame.y(),
-			frame.x() + frame.width(),
-			frame.y() + frame.height(),
+			sheetImage,
+			x + left,
+			y + top,
+			x + right,
+			y + bottom,
+			(frame.x() + left) >> mipLevel,
+			(frame.y() + top) >> mipLevel,
+			(frame.x() + right + (1 << mipLevel) - 1) >> mipLevel,
+			(frame.y() + bottom + (1 << mipLevel) - 1) >> mipLevel,
 			null
 		);
 	}
@@ -288,6 +322,14 @@ public class Animation {
 	 *     restored after drawing the frame.
 	 * </p>
 	 *
+	 * <p>
+	 *     If {@link SpriteSheet#setMipmapped(boolean) mipmapping} is enabled,
+	 *     and the transform shrinks the frame to half its size or smaller,
+	 *     then the frame is drawn from the largest mip level of the sheet
+	 *     which is no more than twice the size at which it is drawn. This is
+	 *     faster, and aliases less, than shrinking the full-size frame.
+	 * </p>
+	 *
 	 * @param gc The graphics context to draw on.
 	 * @param transform The transform to apply to the frame.
 	 */
@@ -298,18 +340,149 @@ public class Animation {
 		gc.setTransform(transform);
 		gc.setClip(transform.createTransformedShape(oldClip));
 
-		draw(gc);
+		final var mipLevel = getMipLevel(transform);
+		if (mipLevel == 0) {
+			draw(gc);
+		} else {
+			final var clipBounds = gc.getClipBounds();
+			final var sheet = clip.frameImages == null ? getSheet(clip.getSpriteName()) : null;
+			final var sheetImage = sheet == null ? null : sheet.getMipLevel(mipLevel);
+			drawFrame(gc, clip, frameIndex, sheetImage, mipLevel, clipBounds.x, clipBounds.y);
+		}
 
 		gc.setTransform(oldTransform);
 		gc.setClip(oldClip);
 	}
 
+	/**
+	 * <p>
+	 *     Draws the current {@link Frame} on a given graphics context, with an
+	 *     {@link AffineTransform} applied to it, such as a mirror, rotation, or
+	 *     scale.
+	 * </p>
+	 *
+	 * <p>
+	 *     The transformed frame is rendered once, then cached, so that drawing
+	 *     a frame with a transform which has been used before is a plain,
+	 *     untransformed blit. The graphics context's transform and clip are
+	 *     not changed. Transformed frames are kept in their own cache, see
+	 *     {@link #setTransformedFrameCacheSize(long)}.
+	 * </p>
+	 *
+	 * @param gc The graphics context to draw on.
+	 * @param x The x-axis position of the untransformed frame's top-left pixel.
+	 * @param y The y-axis position of the untransformed frame's top-left pixel.
+	 *
+	 * @param transform
+	 * 			The transform, relative to the untransformed frame's top-left
+	 * 			pixel. For example, {@code new AffineTransform(-1, 0, 0, 1, width, 0)}
+	 * 			mirrors a frame horizontally, in place.
+	 *
+	 * @see #setNonBlockingDraw(boolean)
+	 */
+	public void draw(final @NonNull Graphics gc, final int x, final int y, final @NonNull AffineTransform transform) {
+		final Image sheetImage = clip.frameImages == null ? getSheetImage(clip.getSpriteName()) : null;
+		TransformedFrame.draw(gc, clip, frameIndex, sheetImage, x, y, transform);
+	}
+
+	/**
+	 * Retrieves the maximum total size of all cached transformed frames.
+	 *
+	 * @return The maximum size, in bytes.
+	 */
+	public static long getTransformedFrameCacheSize() {
+		return TransformedFrame.getMaximumSize();
+	}
+
+	/**
+	 * <p>
+	 *     Sets the maximum total size of all cached transformed frames, see
+	 *     {@link #draw(Graphics, int, int, AffineTransform)}. If the cache is
+	 *     currently larger, then frames are evicted.
+	 * </p>
+	 *
+	 * <p>This cache is separate from the {@link AssetCache}, and defaults to 32 MiB.</p>
+	 *
+	 * @param maximumSize The new maximum size, in bytes.
+	 */
+	public static void setTransformedFrameCacheSize(final long maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The maximum size cannot be negative. It is currently " + maximumSize + ".");
+		}
+
+		TransformedFrame.setMaximumSize(maximumSize);
+	}
+
+	/**
+	 * Determines the mip level from which to draw a frame with a transform.
+	 *
+	 * @param transform The transform.
+	 *
+	 * @return
+	 * 		The mip level, or 0 if mipmapping is disabled, the clip has been
+	 * 		sliced, or the transform does not shrink the frame to half its
+	 * 		size or smaller.
+	 */
+	private int getMipLevel(final AffineTransform transform) {
+		if (!SpriteSheet.isMipmapped() || clip.frameImages != null) {
+			return 0;
+		}
+
+		// The square root of the determinant is the average factor by which the transform scales each axis.
+		final var scale = Math.sqrt(Math.abs(transform.getDeterminant()));
+		if (scale <= 0 || scale > 0.5) {
+			return 0;
+		}
+
+		return Math.min(30, (int) Math.floor(-Math.log(scale) / Math.log(2)));
+	}
+
+	/**
+	 * Retrieves a {@link SpriteSheet}.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return
+	 * 		The sheet, or null if non-blocking drawing is enabled and the sheet
+	 * 		is still loading.
+	 */
+	static SpriteSheet getSheet(final String spriteName) {
+		if (!nonBlockingDraw) {
+			return SpriteSheet.load(spriteName);
+		}
+
+		final var sheet = SpriteSheet.getIfLoaded(spriteName);
+		if (sheet == null) {
+			SpriteSheet.loadAsync(spriteName);
+		}
+
+		return sheet;
+	}
+
+	/**
+	 * Retrieves the image of a {@link SpriteSheet}.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return
+	 * 		The image, or null if non-blocking drawing is enabled and the sheet
+	 * 		is still loading.
+	 */
+	static Image getSheetImage(final String spriteName) {
+		final var sheet = getSheet(spriteName);
+		return sheet == null ? null : sheet.getImage();
+	}
+
 	/**
 	 * Adds an {@link AnimationEventListener} to this {@code Animation}.
 	 *
 	 * @param listener The listener to add.
 	 */
 	public void addAnimationEventListener(final @NonNull AnimationEventListener listener) {
+		if (listeners == null) {
+			listeners = new ArrayList<>(1);
+		}
+
 		listeners.add(listener);
 	}
 
@@ -319,7 +492,9 @@ public class Animation {
 	 * @param listener The listener to remove.
 	 */
 	public void removeAnimationEventListener(final @NonNull AnimationEventListener listener) {
-		listeners.remove(listener);
+		if (listeners != null) {
+			listeners.remove(listener);
+		}
 	}
 
 	/**
@@ -328,14 +503,14 @@ public class Animation {
 	 * @param type The type of event to send.
 	 */
 	private void sendEvent(final @NonNull AnimationEventType type) {
-		if (listeners.isEmpty()) {
+		if (listeners == null || listeners.isEmpty()) {
 			return;
 		}
 
 		final var event = new AnimationEvent(
 			this,
 			type,
-			frames[frameIndex],
+			clip.frames[frameIndex],
 			frameIndex
 		);
 
@@ -364,11 +539,7 @@ public class Animation {
 	 * 		boxes.
 	 */
 	public CollisionBox getCurrentCollisionBox() {
-		if (collisionBoxes.length > 0) {
-			return collisionBoxes[frameIndex];
-		} else {
-			return null;
-		}
+		return clip.getCollisionBox(frameIndex);
 	}
 
 	/**
@@ -377,7 +548,7 @@ public class Animation {
 	 * @return The current frame.
 	 */
 	public Frame getCurrentFrame() {
-		return frames[frameIndex];
+		return clip.frames[frameIndex];
 	}
 
 	/**
@@ -388,11 +559,7 @@ public class Animation {
 	 * 		boxes.
 	 */
 	public Hitbox getCurrentHitbox() {
-		if (hitboxes.length > 0) {
-			return hitboxes[frameIndex];
-		} else {
-			return null;
-		}
+		return clip.getHitbox(frameIndex);
 	}
 
 	/**
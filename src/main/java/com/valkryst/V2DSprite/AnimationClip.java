@@ -0,0 +1,679 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.cache.AssetKey;
+import com.valkryst.V2DSprite.cache.SizedAsset;
+import com.valkryst.V2DSprite.listener.LoadProgressListener;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import com.valkryst.V2DSprite.type.RasterFormat;
+import com.valkryst.V2DSprite.type.SliceMode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.SneakyThrows;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+
+/**
+ * <p>
+ *     The immutable data of an animation; its {@link Frame}s,
+ *     {@link CollisionBox}es, and {@link Hitbox}es.
+ * </p>
+ *
+ * <p>
+ *     A clip is loaded once and can then be shared by any number of
+ *     {@link Animation}s, or {@link AnimationSystem} handles, which only store
+ *     their own playback state.
+ * </p>
+ *
+ * <pre>{@code
+ * var clip = AnimationClip.load("hero", "walk");
+ *
+ * for (int i = 0 ; i < 1000 ; i++) {
+ *     heroes[i] = new Animation(clip);
+ * }
+ * }</pre>
+ */
+public final class AnimationClip implements SizedAsset {
+	/** The slice mode of each sprite, whose mode differs from the default. */
+	private final static Map<String, SliceMode> SLICE_MODES = new ConcurrentHashMap<>();
+
+	/**
+	 * The slice mode used, when loading clips, for sprites which do not have
+	 * their own mode.
+	 */
+	@Getter @Setter private static volatile SliceMode defaultSliceMode = SliceMode.NONE;
+
+	/** The id of the next clip to be constructed. */
+	private final static AtomicLong NEXT_ID = new AtomicLong();
+
+	/**
+	 * The id of the clip, which is unique among all clips, including copies
+	 * with the same names, such as sliced or atlased copies.
+	 */
+	final long id = NEXT_ID.getAndIncrement();
+
+	/** The name of the sprite. */
+	@Getter private final String spriteName;
+
+	/** The name of the animation. */
+	@Getter private final String animationName;
+
+	/** The frames of the animation. */
+	final Frame[] frames;
+
+	/** The collision box of each frame, or an empty array if there are none. */
+	final CollisionBox[] collisionBoxes;
+
+	/** The hitbox of each frame, or an empty array if there are none. */
+	final Hitbox[] hitboxes;
+
+	/** The duration, in milliseconds, of each frame. */
+	final int[] durations;
+
+	/** The sum of the durations, in milliseconds, of all frames. */
+	@Getter private final long totalDuration;
+
+	/** The way in which {@link #frameImages} were sliced. */
+	@Getter private final SliceMode sliceMode;
+
+	/** The image of each frame, or null if the frames have not been sliced. */
+	final BufferedImage[] frameImages;
+
+	/**
+	 * The left, top, right, and bottom transparent borders which were trimmed
+	 * from each frame by an {@link AtlasBuilder}, or null if the frames have
+	 * not been trimmed.
+	 */
+	final int[] trims;
+
+	/**
+	 * The clip whose frames were moved into an atlas, by an
+	 * {@link AtlasBuilder}, to create this clip, or null if the frames have
+	 * not been moved.
+	 */
+	final AnimationClip originalClip;
+
+	/**
+	 * A {@link BufferedImage#TYPE_INT_ARGB_PRE} copy of each frame image, or
+	 * null if the copies have not been made.
+	 */
+	private volatile BufferedImage[] premultipliedFrameImages;
+
+	/**
+	 * Constructs a new {@code AnimationClip}.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 * @param frames The frames of the animation.
+	 *
+	 * @param collisionBoxes
+	 * 			The collision box of each frame, or an empty array if there are
+	 * 			none.
+	 *
+	 * @param hitboxes
+	 * 			The hitbox of each frame, or an empty array if there are none.
+	 */
+	public AnimationClip(final @NonNull String spriteName, final @NonNull String animationName, final @NonNull Frame[] frames, final @NonNull CollisionBox[] collisionBoxes, final @NonNull Hitbox[] hitboxes) {
+		if (frames.length == 0) {
+			throw new IllegalArgumentException("An animation must have at least one frame.");
+		}
+
+		if (collisionBoxes.length != 0 && collisionBoxes.length != frames.length) {
+			throw new IllegalStateException("There must be an equal number of collision boxes and frames. There are currently " + collisionBoxes.length + " collision boxes and " + frames.length + " frames.");
+		}
+
+		if (hitboxes.length != 0 && hitboxes.length != frames.length) {
+			throw new IllegalStateException("There must be an equal number of hitboxes and frames. There are currently " + hitboxes.length + " hitboxes and " + frames.length + " frames.");
+		}
+
+		this.spriteName = spriteName;
+		this.animationName = animationName;
+		this.frames = frames.clone();
+		this.collisionBoxes = collisionBoxes.clone();
+		this.hitboxes = hitboxes.clone();
+
+		durations = new int[frames.length];
+		long totalDuration = 0;
+		for (int i = 0 ; i < frames.length ; i++) {
+			durations[i] = frames[i].duration();
+			totalDuration += durations[i];
+		}
+		this.totalDuration = totalDuration;
+
+		sliceMode = SliceMode.NONE;
+		frameImages = null;
+		trims = null;
+		originalClip = null;
+	}
+
+	/**
+	 * Constructs a copy of an {@code AnimationClip}, with sliced frame images.
+	 *
+	 * @param clip The clip to copy.
+	 * @param sliceMode The way in which the frame images were sliced.
+	 * @param frameImages The image of each frame.
+	 */
+	private AnimationClip(final AnimationClip clip, final SliceMode sliceMode, final BufferedImage[] frameImages) {
+		spriteName = clip.spriteName;
+		animationName = clip.animationName;
+		frames = clip.frames;
+		collisionBoxes = clip.collisionBoxes;
+		hitboxes = clip.hitboxes;
+		durations = clip.durations;
+		totalDuration = clip.totalDuration;
+
+		trims = clip.trims;
+		originalClip = clip.originalClip;
+
+		this.sliceMode = sliceMode;
+		this.frameImages = frameImages;
+	}
+
+	/**
+	 * Constructs a copy of an {@code AnimationClip}, whose frames have been
+	 * moved into an atlas by an {@link AtlasBuilder}.
+	 *
+	 * @param clip The clip to copy.
+	 * @param frames The frames of the animation, within the atlas.
+	 * @param trims The borders trimmed from each frame, or null if none were trimmed. See {@link #trims}.
+	 */
+	AnimationClip(final AnimationClip clip, final Frame[] frames, final int[] trims) {
+		spriteName = clip.spriteName;
+		animationName = clip.animationName;
+		this.frames = frames;
+		collisionBoxes = clip.collisionBoxes;
+		hitboxes = clip.hitboxes;
+		durations = clip.durations;
+		totalDuration = clip.totalDuration;
+		sliceMode = SliceMode.NONE;
+		frameImages = null;
+		this.trims = trims;
+		originalClip = clip.originalClip != null ? clip.originalClip : clip;
+	}
+
+	/**
+	 * Loads an {@code AnimationClip} and returns it.
+	 *
+	 * @param spriteName
+	 * 			<p>The name of the sprite.</p>
+	 *
+	 *			<p>
+	 *			    This corresponds to the name of the folder containing the
+	 *				sprite sheet and animation data. If {@code spriteName} is
+	 *				{@code "hero"}, then the sprite sheet and animation data
+	 *				would be located in the {@code "/sprites/hero"} directory.
+	 *			</p>
+	 *
+	 * @param animationName
+	 * 			<p>The name of the animation.</p>
+	 *
+	 * 			<p>
+	 * 			    This corresponds to the prefix of the files containing the
+	 * 				animation data. If {@code spriteName} is {@code "hero"} and
+	 * 				{@code animationName} is {@code "walk"}, then the files
+	 * 				would be {@code "walk_frame.tsv"},
+	 * 				{@code "walk_collisionbox.tsv"}, and
+	 * 				{@code "walk_hitbox.tsv"} in the
+	 * 				{@code "/sprites/hero/animations"} directory.
+	 * 			</p>
+	 *
+	 * @return The {@code AnimationClip}.
+	 */
+	public static AnimationClip load(final @NonNull String spriteName, final @NonNull String animationName) {
+		return AssetCache.get(getKey(spriteName, animationName), AnimationClip::read);
+	}
+
+	/**
+	 * Loads multiple {@code AnimationClip}s in parallel, in the background.
+	 *
+	 * @param animationNames
+	 * 			The names of the animations to load, mapped to the names of
+	 * 			their sprites. See {@link #load(String, String)}.
+	 *
+	 * @return A future which completes with the {@code AnimationClip}s.
+	 */
+	public static CompletableFuture<List<AnimationClip>> preloadAsync(final @NonNull Map<String, ? extends Collection<String>> animationNames) {
+		return preloadAsync(animationNames, null);
+	}
+
+	/**
+	 * Loads multiple {@code AnimationClip}s in parallel, in the background.
+	 *
+	 * @param animationNames
+	 * 			The names of the animations to load, mapped to the names of
+	 * 			their sprites. See {@link #load(String, String)}.
+	 *
+	 * @param listener
+	 * 			The listener to notify as each clip is loaded, or null if no
+	 * 			listener is required.
+	 *
+	 * @return A future which completes with the {@code AnimationClip}s.
+	 */
+	public static CompletableFuture<List<AnimationClip>> preloadAsync(final @NonNull Map<String, ? extends Collection<String>> animationNames, final LoadProgressListener listener) {
+		final var keys = new ArrayList<AssetKey<AnimationClip>>();
+		animationNames.forEach((spriteName, names) -> {
+			for (final var animationName : names) {
+				keys.add(getKey(spriteName, animationName));
+			}
+		});
+
+		return AssetCache.getAllAsync(keys, AnimationClip::read, listener);
+	}
+
+	/**
+	 * Reads an {@code AnimationClip}, bypassing the cache.
+	 *
+	 * @param key The key of the clip.
+	 *
+	 * @return The {@code AnimationClip}.
+	 *
+	 * @throws Exception If an error occurs when loading the data.
+	 */
+	private static AnimationClip read(final AssetKey<AnimationClip> key) throws Exception {
+		final var spriteName = key.spriteName();
+		final var animationName = key.name();
+
+		// A recolored variant has the same animations as its base sprite.
+		final var paletteSwap = SpriteSheet.getPaletteSwap(spriteName);
+		if (paletteSwap != null) {
+			final var baseClip = load(paletteSwap.baseSpriteName(), animationName);
+			return new AnimationClip(spriteName, animationName, baseClip.frames, baseClip.collisionBoxes, baseClip.hitboxes).slice(getSliceMode(spriteName));
+		}
+
+		final var packedTables = SpritePack.findTables(spriteName, animationName);
+		if (packedTables != null) {
+			return fromTables(spriteName, animationName, packedTables[0], packedTables[1], packedTables[2]).slice(getSliceMode(spriteName));
+		}
+
+		final var frameData = loadData(Frame.class, 5, spriteName, animationName);
+		if (frameData == null) {
+			throw new FileNotFoundException("Could not load data from '" + getPath(Frame.class, spriteName, animationName) + "'.");
+		}
+
+		final var clip = fromTables(
+			spriteName,
+			animationName,
+			frameData,
+			loadData(CollisionBox.class, 4, spriteName, animationName),
+			loadData(Hitbox.class, 4, spriteName, animationName)
+		);
+
+		return clip.slice(getSliceMode(spriteName));
+	}
+
+	/**
+	 * Constructs an {@code AnimationClip} from tables of values, as read from
+	 * the TSV files of an animation.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 * @param frameData The values of the frame table, five per frame, in row-major order.
+	 * @param collisionBoxData The values of the collision box table, four per box, or null if there are none.
+	 * @param hitboxData The values of the hitbox table, four per box, or null if there are none.
+	 *
+	 * @return The {@code AnimationClip}.
+	 */
+	static AnimationClip fromTables(final String spriteName, final String animationName, final int[] frameData, final int[] collisionBoxData, final int[] hitboxData) {
+		final var frames = new Frame[frameData.length / 5];
+		for (int i = 0 ; i < frames.length ; i++) {
+			final var offset = i * 5;
+			frames[i] = new Frame(frameData[offset], frameData[offset + 1], frameData[offset + 2], frameData[offset + 3], frameData[offset + 4]);
+		}
+
+		final var collisionBoxes = new CollisionBox[collisionBoxData == null ? 0 : collisionBoxData.length / 4];
+		for (int i = 0 ; i < collisionBoxes.length ; i++) {
+			final var offset = i * 4;
+			collisionBoxes[i] = new CollisionBox(collisionBoxData[offset], collisionBoxData[offset + 1], collisionBoxData[offset + 2], collisionBoxData[offset + 3]);
+		}
+
+		final var hitboxes = new Hitbox[hitboxData == null ? 0 : hitboxData.length / 4];
+		for (int i = 0 ; i < hitboxes.length ; i++) {
+			final var offset = i * 4;
+			hitboxes[i] = new Hitbox(hitboxData[offset], hitboxData[offset + 1], hitboxData[offset + 2], hitboxData[offset + 3]);
+		}
+
+		return new AnimationClip(spriteName, animationName, frames, collisionBoxes, hitboxes);
+	}
+
+	/**
+	 * <p>
+	 *     Slices the image of each frame out of the clip's
+	 *     {@link SpriteSheet}, which is loaded if necessary. In
+	 *     {@link SliceMode#REGION} mode, only the used regions of the sheet
+	 *     are decoded, and the sheet itself is not loaded.
+	 * </p>
+	 *
+	 * <p>
+	 *     A sliced clip can be drawn with
+	 *     {@link Animation#draw(java.awt.Graphics, int, int)} without looking
+	 *     up the sheet, or computing the source rectangle of the frame.
+	 * </p>
+	 *
+	 * @param sliceMode The way in which to slice the frames.
+	 *
+	 * @return
+	 * 		A copy of this clip with sliced frames, or this clip if it has
+	 * 		already been sliced in the given mode.
+	 *
+	 * @throws IllegalStateException If the clip's frames were trimmed by an {@link AtlasBuilder}.
+	 */
+	public AnimationClip slice(final @NonNull SliceMode sliceMode) {
+		if (sliceMode == this.sliceMode) {
+			return this;
+		}
+
+		if (trims != null) {
+			throw new IllegalStateException("The frames of '" + spriteName + "/" + animationName + "' were trimmed into an atlas, so they cannot be sliced.");
+		}
+
+		if (sliceMode == SliceMode.NONE) {
+			return new AnimationClip(this, SliceMode.NONE, null);
+		}
+
+		if (sliceMode == SliceMode.REGION) {
+			return new AnimationClip(this, SliceMode.REGION, sliceRegions());
+		}
+
+		final var sheet = SpriteSheet.load(spriteName).getImage();
+		final var frameImages = new BufferedImage[frames.length];
+
+		for (int i = 0 ; i < frames.length ; i++) {
+			final var frame = frames[i];
+			final var subimage = sheet.getSubimage(frame.x(), frame.y(), frame.width(), frame.height());
+
+			if (sliceMode == SliceMode.SHARED) {
+				frameImages[i] = subimage;
+				continue;
+			}
+
+			final var colorModel = sheet.getColorModel();
+			final var raster = colorModel.createCompatibleWritableRaster(frame.width(), frame.height());
+			subimage.copyData(raster);
+			frameImages[i] = new BufferedImage(colorModel, raster, colorModel.isAlphaPremultiplied(), null);
+		}
+
+		return new AnimationClip(this, sliceMode, frameImages);
+	}
+
+	/**
+	 * Decodes only the regions of the clip's {@link SpriteSheet} which are
+	 * used by its frames, then slices each frame out of its region.
+	 *
+	 * @return The image of each frame.
+	 */
+	@SneakyThrows
+	private BufferedImage[] sliceRegions() {
+		// Frames which overlap, such as frames which are reused, are merged into one region.
+		final var regions = new ArrayList<Rectangle>(frames.length);
+		for (final var frame : frames) {
+			var region = new Rectangle(frame.x(), frame.y(), frame.width(), frame.height());
+
+			for (int i = 0 ; i < regions.size() ; i++) {
+				if (regions.get(i).intersects(region)) {
+					region = region.union(regions.remove(i));
+					i = -1;
+				}
+			}
+
+			regions.add(region);
+		}
+
+		final var regionImages = SpriteSheet.readRegions(spriteName, regions);
+		final var frameImages = new BufferedImage[frames.length];
+
+		for (int i = 0 ; i < frames.length ; i++) {
+			final var frame = frames[i];
+
+			for (int j = 0 ; j < regions.size() ; j++) {
+				final var region = regions.get(j);
+				if (region.contains(frame.x(), frame.y(), frame.width(), frame.height())) {
+					frameImages[i] = regionImages[j].getSubimage(frame.x() - region.x, frame.y() - region.y, frame.width(), frame.height());
+					break;
+				}
+			}
+		}
+
+		return frameImages;
+	}
+
+	/**
+	 * Retrieves the slice mode applied to the clips of a sprite when they are
+	 * loaded.
+	 *
+	 * @param spriteName The name of the sprite. See {@link #load(String, String)}.
+	 *
+	 * @return The slice mode.
+	 */
+	public static SliceMode getSliceMode(final @NonNull String spriteName) {
+		return SLICE_MODES.getOrDefault(spriteName, defaultSliceMode);
+	}
+
+	/**
+	 * Sets the slice mode applied to the clips of a sprite when they are
+	 * loaded, overriding the {@link #getDefaultSliceMode() default}. This
+	 * only affects clips which are loaded after it has been set.
+	 *
+	 * @param spriteName The name of the sprite. See {@link #load(String, String)}.
+	 * @param sliceMode The slice mode, or null to use the default mode.
+	 */
+	public static void setSliceMode(final @NonNull String spriteName, final SliceMode sliceMode) {
+		if (sliceMode == null) {
+			SLICE_MODES.remove(spriteName);
+		} else {
+			SLICE_MODES.put(spriteName, sliceMode);
+		}
+	}
+
+	/**
+	 * Retrieves the {@link AssetKey} of an {@code AnimationClip}.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 *
+	 * @return The key.
+	 */
+	public static AssetKey<AnimationClip> getKey(final @NonNull String spriteName, final @NonNull String animationName) {
+		return new AssetKey<>(AnimationClip.class, spriteName, animationName);
+	}
+
+	/**
+	 * Loads a table of data from the current {@link SpriteSources#getSource() source}.
+	 *
+	 * @param klass The type of data to load.
+	 * @param columns The number of values per row of data.
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 *
+	 * @return
+	 * 		The values of the table, in row-major order, or null if the file
+	 * 		containing the data does not exist.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 * @throws DataFormatException If the data is incorrectly formatted.
+	 */
+	private static int[] loadData(final Class<?> klass, final int columns, final String spriteName, final String animationName) throws IOException, DataFormatException {
+		// The index, if it lists the animation, says exactly which tables exist.
+		final var index = SpriteIndex.getCurrent();
+		if (index != null && index.contains(spriteName, animationName) && !index.hasTable(spriteName, animationName, klass)) {
+			return null;
+		}
+
+		final var path = getPath(klass, spriteName, animationName);
+
+		try (final var inputStream = SpriteSources.getSource().open(path)) {
+			if (inputStream == null) {
+				return null;
+			}
+
+			return TsvParser.parse(inputStream, path, columns, '\t');
+		}
+	}
+
+	/**
+	 * Retrieves the path of the file containing a type of animation data.
+	 *
+	 * @param klass The type of data.
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 *
+	 * @return The path, relative to the root of a {@link com.valkryst.V2DSprite.source.SpriteSource}.
+	 */
+	private static String getPath(final Class<?> klass, final String spriteName, final String animationName) {
+		return String.format(
+			"%s/animations/%s_%s.tsv",
+			spriteName,
+			animationName,
+			klass.getSimpleName().toLowerCase(Locale.ROOT)
+		);
+	}
+
+	@Override
+	public long getSizeInBytes() {
+		// Approximately 32 bytes per record, 4 bytes per reference, and 4 bytes per duration.
+		var size = 128 + (frames.length + collisionBoxes.length + hitboxes.length) * 36L + durations.length * 4L;
+
+		if (sliceMode == SliceMode.COPIED) {
+			for (final var frameImage : frameImages) {
+				size += AssetCache.getSizeInBytes(frameImage);
+			}
+		} else if (sliceMode == SliceMode.REGION) {
+			// Frames in the same region share its raster, which is only counted once.
+			final var dataBuffers = Collections.newSetFromMap(new IdentityHashMap<DataBuffer, Boolean>());
+			for (final var frameImage : frameImages) {
+				if (dataBuffers.add(frameImage.getRaster().getDataBuffer())) {
+					size += AssetCache.getSizeInBytes(frameImage);
+				}
+			}
+		}
+
+		final var premultipliedFrameImages = this.premultipliedFrameImages;
+		if (premultipliedFrameImages != null) {
+			for (final var frameImage : premultipliedFrameImages) {
+				size += AssetCache.getSizeInBytes(frameImage);
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * Retrieves the sliced image of a frame, in the
+	 * {@link BufferedImage#TYPE_INT_ARGB_PRE} layout used by
+	 * {@link SoftwareBlitter}.
+	 *
+	 * @param index Index of the frame.
+	 *
+	 * @return
+	 * 		The image, if it is already in that layout. Otherwise, a copy of the
+	 * 		image. The copies of all frames are made at once, and kept for as
+	 * 		long as the clip is. They are only counted in the
+	 * 		{@link AssetCache} if this clip is the one cached under its sprite
+	 * 		and animation names. Copies made by other clips, such as those
+	 * 		returned by {@link #slice(SliceMode)}, are not tracked.
+	 */
+	BufferedImage getPremultipliedFrameImage(final int index) {
+		if (frameImages[index].getType() == BufferedImage.TYPE_INT_ARGB_PRE) {
+			return frameImages[index];
+		}
+
+		var premultipliedFrameImages = this.premultipliedFrameImages;
+		if (premultipliedFrameImages == null) {
+			synchronized (this) {
+				premultipliedFrameImages = this.premultipliedFrameImages;
+				if (premultipliedFrameImages == null) {
+					premultipliedFrameImages = new BufferedImage[frameImages.length];
+					for (int i = 0 ; i < frameImages.length ; i++) {
+						premultipliedFrameImages[i] = RasterFormat.PREMULTIPLIED.convert(frameImages[i]);
+					}
+
+					this.premultipliedFrameImages = premultipliedFrameImages;
+
+					final var key = getKey(spriteName, animationName);
+					if (AssetCache.getIfPresent(key) == this) {
+						AssetCache.refresh(key);
+					}
+				}
+			}
+		}
+
+		return premultipliedFrameImages[index];
+	}
+
+	/**
+	 * Retrieves the sliced image of a frame.
+	 *
+	 * @param index Index of the frame.
+	 *
+	 * @return The image, or null if the clip has not been sliced.
+	 */
+	public BufferedImage getFrameImage(final int index) {
+		return frameImages == null ? null : frameImages[index];
+	}
+
+	/**
+	 * Retrieves the number of frames in the clip.
+	 *
+	 * @return The number of frames.
+	 */
+	public int getFrameCount() {
+		return frames.length;
+	}
+
+	/**
+	 * Retrieves a {@link Frame}.
+	 *
+	 * @param index Index of the frame.
+	 *
+	 * @return The frame.
+	 */
+	public Frame getFrame(final int index) {
+		return frames[index];
+	}
+
+	/**
+	 * Retrieves the {@link CollisionBox} of a frame.
+	 *
+	 * @param index Index of the frame.
+	 *
+	 * @return
+	 * 		The collision box, or null if the clip has no collision boxes.
+	 */
+	public CollisionBox getCollisionBox(final int index) {
+		if (collisionBoxes.length > 0) {
+			return collisionBoxes[index];
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Retrieves the {@link Hitbox} of a frame.
+	 *
+	 * @param index Index of the frame.
+	 *
+	 * @return The hitbox, or null if the clip has no hitboxes.
+	 */
+	public Hitbox getHitbox(final int index) {
+		if (hitboxes.length > 0) {
+			return hitboxes[index];
+		} else {
+			return null;
+		}
+	}
+}
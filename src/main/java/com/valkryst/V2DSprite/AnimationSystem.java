@@ -0,0 +1,581 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.listener.AnimationSystemListener;
+import com.valkryst.V2DSprite.type.AnimationEventType;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>
+ *     Plays a large number of animations, stored as handles, in bulk.
+ * </p>
+ *
+ * <p>
+ *     Rather than storing the playback state of each animation within its own
+ *     object, as {@link Animation} does, the state is stored in primitive
+ *     arrays which are indexed by handle. A single call to
+ *     {@link #update(double)} advances every animation in one loop over the
+ *     arrays and the frame duration tables of the shared
+ *     {@link AnimationClip}s.
+ * </p>
+ *
+ * <p>
+ *     Frames are advanced with the same rules as {@link Animation#update(double)}
+ *     and the same {@link AnimationEventType}s are produced. Events are sent to
+ *     the {@link AnimationSystemListener}s after all animations have been
+ *     updated.
+ * </p>
+ *
+ * <p>
+ *     The population can also be updated in parallel, with
+ *     {@link #updateParallel(double, Executor)}, in which case it is split into
+ *     chunks of {@link #getChunkSize()} handles. Events are collected per chunk
+ *     and sent in handle order once all chunks have been updated, so listeners
+ *     observe the same sequence of events as with {@link #update(double)}.
+ * </p>
+ *
+ * <p>
+ *     This class is not thread-safe. Only the frame advancement performed by
+ *     {@link #updateParallel(double, Executor)} runs on other threads.
+ * </p>
+ */
+public class AnimationSystem {
+	/** Flag indicating that a handle is in use. */
+	private final static byte FLAG_ALIVE = 1;
+
+	/** Flag indicating that an animation is paused. */
+	private final static byte FLAG_PAUSED = 1 << 1;
+
+	/** Flag indicating that an animation plays in reverse. */
+	private final static byte FLAG_REVERSED = 1 << 2;
+
+	/** The types of event, indexed by ordinal. */
+	private final static AnimationEventType[] EVENT_TYPES = AnimationEventType.values();
+
+	private final List<AnimationSystemListener> listeners = new ArrayList<>(0);
+
+	/** Events produced during the most recent update. */
+	private final EventBuffer events = new EventBuffer();
+
+	/** Events produced by each chunk during the most recent parallel update. */
+	private EventBuffer[] chunkEvents = new EventBuffer[0];
+
+	/** The number of handles updated by each task of a parallel update. */
+	@Getter private int chunkSize = 4096;
+
+	/** The clip of each animation. */
+	private AnimationClip[] clips;
+
+	/** The frame durations, in milliseconds, of each animation. */
+	private int[][] durations;
+
+	/** Index of the current frame of each animation. */
+	private int[] frameIndices;
+
+	/**
+	 * The time elapsed, in milliseconds, since the current frame of each
+	 * animation was first displayed.
+	 */
+	private double[] frameTimes;
+
+	/** The speed at which each animation should play. */
+	private float[] speeds;
+
+	/** The packed {@code FLAG_*} values of each animation. */
+	private byte[] flags;
+
+	/** Handles which have been removed, and can be reused. */
+	private int[] freeHandles;
+
+	/** The number of handles in {@code freeHandles}. */
+	private int freeHandleCount = 0;
+
+	/** One greater than the highest handle which has ever been allocated. */
+	private int handleLimit = 0;
+
+	/** Constructs a new {@code AnimationSystem}. */
+	public AnimationSystem() {
+		this(64);
+	}
+
+	/**
+	 * Constructs a new {@code AnimationSystem}.
+	 *
+	 * @param initialCapacity
+	 * 			The number of animations for which to allocate space.
+	 */
+	public AnimationSystem(final int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException("The initial capacity must be at least 1. It is currently " + initialCapacity + ".");
+		}
+
+		clips = new AnimationClip[initialCapacity];
+		durations = new int[initialCapacity][];
+		frameIndices = new int[initialCapacity];
+		frameTimes = new double[initialCapacity];
+		speeds = new float[initialCapacity];
+		flags = new byte[initialCapacity];
+		freeHandles = new int[initialCapacity];
+	}
+
+	/**
+	 * Adds an animation to the system.
+	 *
+	 * @param clip The clip to play.
+	 *
+	 * @return The handle of the animation.
+	 */
+	public int add(final @NonNull AnimationClip clip) {
+		final int handle;
+		if (freeHandleCount > 0) {
+			handle = freeHandles[--freeHandleCount];
+		} else {
+			if (handleLimit == flags.length) {
+				grow();
+			}
+
+			handle = handleLimit++;
+		}
+
+		clips[handle] = clip;
+		durations[handle] = clip.durations;
+		frameIndices[handle] = 0;
+		frameTimes[handle] = 0;
+		speeds[handle] = 1.0f;
+		flags[handle] = FLAG_ALIVE;
+
+		return handle;
+	}
+
+	/**
+	 * Removes an animation from the system. Its handle may be reused by a
+	 * later call to {@link #add(AnimationClip)}.
+	 *
+	 * @param handle Handle of the animation.
+	 */
+	public void remove(final int handle) {
+		checkHandle(handle);
+
+		clips[handle] = null;
+		durations[handle] = null;
+		flags[handle] = 0;
+		freeHandles[freeHandleCount++] = handle;
+	}
+
+	/** Grows the state arrays to hold twice as many animations. */
+	private void grow() {
+		final var capacity = flags.length * 2;
+		clips = Arrays.copyOf(clips, capacity);
+		durations = Arrays.copyOf(durations, capacity);
+		frameIndices = Arrays.copyOf(frameIndices, capacity);
+		frameTimes = Arrays.copyOf(frameTimes, capacity);
+		speeds = Arrays.copyOf(speeds, capacity);
+		flags = Arrays.copyOf(flags, capacity);
+		freeHandles = Arrays.copyOf(freeHandles, capacity);
+	}
+
+	/**
+	 * Updates all animations.
+	 *
+	 * @param deltaTime
+	 * 			The time elapsed since the last update. See
+	 * 			{@link Animation#update(double)}.
+	 */
+	public void update(final double deltaTime) {
+		events.clear();
+		advance(0, handleLimit, deltaTime, events);
+		dispatch(events);
+	}
+
+	/**
+	 * Updates all animations in parallel, using the common
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param deltaTime
+	 * 			The time elapsed since the last update. See
+	 * 			{@link Animation#update(double)}.
+	 */
+	public void updateParallel(final double deltaTime) {
+		updateParallel(deltaTime, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * <p>Updates all animations in parallel.</p>
+	 *
+	 * <p>
+	 *     The handles are split into chunks, and each chunk is advanced by a
+	 *     task run on the given executor. This method blocks until all tasks
+	 *     have completed, then sends the events of each chunk, in handle order,
+	 *     on the calling thread.
+	 * </p>
+	 *
+	 * @param deltaTime
+	 * 			The time elapsed since the last update. See
+	 * 			{@link Animation#update(double)}.
+	 *
+	 * @param executor The executor on which to run the tasks.
+	 */
+	public void updateParallel(final double deltaTime, final @NonNull Executor executor) {
+		final var chunkCount = (handleLimit + chunkSize - 1) / chunkSize;
+		if (chunkCount <= 1) {
+			update(deltaTime);
+			return;
+		}
+
+		if (chunkEvents.length < chunkCount) {
+			final var oldLength = chunkEvents.length;
+			chunkEvents = Arrays.copyOf(chunkEvents, chunkCount);
+
+			for (int i = oldLength ; i < chunkCount ; i++) {
+				chunkEvents[i] = new EventBuffer();
+			}
+		}
+
+		final var tasks = new CompletableFuture<?>[chunkCount];
+		for (int i = 0 ; i < chunkCount ; i++) {
+			final var from = i * chunkSize;
+			final var to = Math.min(from + chunkSize, handleLimit);
+			final var buffer = chunkEvents[i];
+
+			buffer.clear();
+			tasks[i] = CompletableFuture.runAsync(() -> advance(from, to, deltaTime, buffer), executor);
+		}
+		CompletableFuture.allOf(tasks).join();
+
+		for (int i = 0 ; i < chunkCount ; i++) {
+			dispatch(chunkEvents[i]);
+		}
+	}
+
+	/**
+	 * Advances a range of animations, using the same rules as
+	 * {@link Animation#update(double)}.
+	 *
+	 * @param from The first handle to update, inclusive.
+	 * @param to The last handle to update, exclusive.
+	 * @param deltaTime The time elapsed since the last update.
+	 * @param events The buffer to which produced events are added.
+	 */
+	private void advance(final int from, final int to, final double deltaTime, final EventBuffer events) {
+		final var frameIndices = this.frameIndices;
+		final var frameTimes = this.frameTimes;
+		final var speeds = this.speeds;
+		final var flags = this.flags;
+		final var durations = this.durations;
+
+		for (int handle = from ; handle < to ; handle++) {
+			final var flag = flags[handle];
+			if ((flag & (FLAG_ALIVE | FLAG_PAUSED)) != FLAG_ALIVE) {
+				continue;
+			}
+
+			/*
+			 * The frame time is expressed in milliseconds, so we need to
+			 * multiply by 1000 to ensure the added value is also in
+			 * milliseconds.
+			 */
+			var frameTime = frameTimes[handle] + deltaTime * speeds[handle] * 1000;
+			var frameIndex = frameIndices[handle];
+
+			final var table = durations[handle];
+			final var lastIndex = table.length - 1;
+			final var reversed = (flag & FLAG_REVERSED) != 0;
+
+			while (frameTime >= table[frameIndex]) {
+				frameTime -= table[frameIndex];
+
+				final AnimationEventType type;
+				if (reversed) {
+					if (frameIndex == 0) {
+						frameIndex = lastIndex;
+						type = AnimationEventType.FIRST_FRAME;
+					} else if (frameIndex == 1) {
+						frameIndex = 0;
+						type = AnimationEventType.LAST_FRAME;
+					} else {
+						frameIndex--;
+						type = AnimationEventType.NEW_FRAME;
+					}
+				} else {
+					if (frameIndex == lastIndex) {
+						frameIndex = 0;
+						type = AnimationEventType.FIRST_FRAME;
+					} else if (frameIndex == lastIndex - 1) {
+						frameIndex++;
+						type = AnimationEventType.LAST_FRAME;
+					} else {
+						frameIndex++;
+						type = AnimationEventType.NEW_FRAME;
+					}
+				}
+
+				events.add(handle, type, frameIndex);
+			}
+
+			frameTimes[handle] = frameTime;
+			frameIndices[handle] = frameIndex;
+		}
+	}
+
+	/**
+	 * Sends the events in a buffer to all {@link AnimationSystemListener}s.
+	 *
+	 * @param events The events.
+	 */
+	private void dispatch(final EventBuffer events) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+
+		final var data = events.data;
+		for (int i = 0 ; i < events.size ; i += 3) {
+			sendEvent(data[i], EVENT_TYPES[data[i + 1]], data[i + 2]);
+		}
+	}
+
+	/**
+	 * Sends an event to all {@link AnimationSystemListener}s.
+	 *
+	 * @param handle Handle of the animation.
+	 * @param type The type of event to send.
+	 * @param frameIndex Index of the animation's current frame.
+	 */
+	private void sendEvent(final int handle, final @NonNull AnimationEventType type, final int frameIndex) {
+		for (final var listener : listeners) {
+			listener.onAnimationEvent(this, handle, type, frameIndex);
+		}
+	}
+
+	/**
+	 * Resets an animation to its initial state.
+	 *
+	 * @param handle Handle of the animation.
+	 */
+	public void reset(final int handle) {
+		checkHandle(handle);
+
+		final AnimationEventType type;
+		if (isReversed(handle)) {
+			frameIndices[handle] = durations[handle].length - 1;
+			type = AnimationEventType.LAST_FRAME;
+		} else {
+			frameIndices[handle] = 0;
+			type = AnimationEventType.FIRST_FRAME;
+		}
+
+		frameTimes[handle] = 0;
+		sendEvent(handle, type, frameIndices[handle]);
+	}
+
+	/**
+	 * Adds an {@link AnimationSystemListener} to this {@code AnimationSystem}.
+	 *
+	 * @param listener The listener to add.
+	 */
+	public void addAnimationSystemListener(final @NonNull AnimationSystemListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes an {@link AnimationSystemListener} from this
+	 * {@code AnimationSystem}.
+	 *
+	 * @param listener The listener to remove.
+	 */
+	public void removeAnimationSystemListener(final @NonNull AnimationSystemListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Throws an exception if a handle is not in use.
+	 *
+	 * @param handle The handle.
+	 */
+	private void checkHandle(final int handle) {
+		if (handle < 0 || handle >= handleLimit || (flags[handle] & FLAG_ALIVE) == 0) {
+			throw new IllegalArgumentException("The handle " + handle + " is not in use.");
+		}
+	}
+
+	/**
+	 * Sets the number of handles updated by each task of a parallel update.
+	 *
+	 * @param chunkSize The new chunk size.
+	 */
+	public void setChunkSize(final int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("The chunk size must be at least 1. It is currently " + chunkSize + ".");
+		}
+
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Retrieves the number of animations in the system.
+	 *
+	 * @return The number of animations.
+	 */
+	public int size() {
+		return handleLimit - freeHandleCount;
+	}
+
+	/**
+	 * Retrieves the current {@link Frame} of an animation.
+	 *
+	 * @param handle Handle of the animation.
+	 *
+	 * @return The current frame.
+	 */
+	public Frame getCurrentFrame(final int handle) {
+		checkHandle(handle);
+		return clips[handle].frames[frameIndices[handle]];
+	}
+
+	/**
+	 * Retrieves the {@link AnimationClip} of an animation.
+	 *
+	 * @param handle Handle of the animation.
+	 *
+	 * @return The clip.
+	 */
+	public AnimationClip getClip(final int handle) {
+		checkHandle(handle);
+		return clips[handle];
+	}
+
+	/**
+	 * Retrieves the index of the current {@link Frame} of an animation.
+	 *
+	 * @param handle Handle of the animation.
+	 *
+	 * @return The index of the current frame.
+	 */
+	public int getFrameIndex(final int handle) {
+		checkHandle(handle);
+		return frameIndices[handle];
+	}
+
+	/**
+	 * Retrieves whether an animation is paused.
+	 *
+	 * @param handle Handle of the animation.
+	 *
+	 * @return Whether the animation is paused.
+	 */
+	public boolean isPaused(final int handle) {
+		checkHandle(handle);
+		return (flags[handle] & FLAG_PAUSED) != 0;
+	}
+
+	/**
+	 * Sets the pause state of an animation.
+	 *
+	 * @param handle Handle of the animation.
+	 * @param paused The new pause state.
+	 */
+	public void setPaused(final int handle, final boolean paused) {
+		setFlag(handle, FLAG_PAUSED, paused);
+		sendEvent(handle, paused ? AnimationEventType.PAUSE : AnimationEventType.RESUME, frameIndices[handle]);
+	}
+
+	/**
+	 * Retrieves whether an animation plays in reverse.
+	 *
+	 * @param handle Handle of the animation.
+	 *
+	 * @return Whether the animation plays in reverse.
+	 */
+	public boolean isReversed(final int handle) {
+		checkHandle(handle);
+		return (flags[handle] & FLAG_REVERSED) != 0;
+	}
+
+	/**
+	 * Sets whether an animation plays in reverse.
+	 *
+	 * @param handle Handle of the animation.
+	 * @param reversed Whether to play the animation in reverse.
+	 */
+	public void setReversed(final int handle, final boolean reversed) {
+		setFlag(handle, FLAG_REVERSED, reversed);
+	}
+
+	/**
+	 * Retrieves the speed at which an animation plays.
+	 *
+	 * @param handle Handle of the animation.
+	 *
+	 * @return The speed.
+	 */
+	public float getSpeed(final int handle) {
+		checkHandle(handle);
+		return speeds[handle];
+	}
+
+	/**
+	 * Sets the speed at which an animation plays.
+	 *
+	 * @param handle Handle of the animation.
+	 * @param speed The new speed.
+	 */
+	public void setSpeed(final int handle, final float speed) {
+		checkHandle(handle);
+		speeds[handle] = speed;
+	}
+
+	/**
+	 * Sets or clears a flag of an animation.
+	 *
+	 * @param handle Handle of the animation.
+	 * @param flag The flag.
+	 * @param value Whether to set or clear the flag.
+	 */
+	private void setFlag(final int handle, final byte flag, final boolean value) {
+		checkHandle(handle);
+
+		if (value) {
+			flags[handle] |= flag;
+		} else {
+			flags[handle] &= (byte) ~flag;
+		}
+	}
+
+	/**
+	 * A growable buffer of events, stored as {@code (handle, type, frameIndex)}
+	 * triplets, which is reused between updates.
+	 */
+	private static class EventBuffer {
+		private int[] data = new int[48];
+
+		private int size = 0;
+
+		/**
+		 * Adds an event to the buffer.
+		 *
+		 * @param handle Handle of the animation.
+		 * @param type The type of event.
+		 * @param frameIndex Index of the animation's current frame.
+		 */
+		private void add(final int handle, final AnimationEventType type, final int frameIndex) {
+			if (size + 3 > data.length) {
+				data = Arrays.copyOf(data, data.length * 2);
+			}
+
+			data[size++] = handle;
+			data[size++] = type.ordinal();
+			data[size++] = frameIndex;
+		}
+
+		/** Removes all events from the buffer. */
+		private void clear() {
+			size = 0;
+		}
+	}
+}
@@ -0,0 +1,500 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.FrameDeduplicator.FrameRegion;
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.SneakyThrows;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ *     Packs the frames of many sprites into a few large atlas images, and
+ *     installs them so that the sprites are drawn from the atlases.
+ * </p>
+ *
+ * <p>
+ *     Once installed, {@link SpriteSheet#load(String)} returns a sheet whose
+ *     image is the sprite's atlas, and {@link AnimationClip#load(String, String)}
+ *     returns clips whose frames have been moved to their positions within
+ *     the atlas, so {@link Animation}s are drawn from the atlas without any
+ *     other changes. Sprites which share an atlas are also grouped together by
+ *     {@link SpriteBatch}. The installed sheets and clips are
+ *     {@link AssetCache#pin pinned}, so they are only removed by
+ *     {@link AssetCache#invalidateAll()}, and are kept when a
+ *     {@link SpritePack} is mounted or the
+ *     {@link SpriteSources#setSource source} is changed.
+ * </p>
+ *
+ * <p>
+ *     Frames are packed onto shelves, tallest first. Frames which share the
+ *     same region of a sheet are packed once. If trimming is enabled, the
+ *     fully transparent border of each frame is not packed, and is skipped
+ *     when the frame is drawn. Clips with trimmed frames cannot be
+ *     {@link AnimationClip#slice sliced}.
+ * </p>
+ *
+ * <pre>{@code
+ * final var builder = new AtlasBuilder();
+ * builder.setTrimmed(true);
+ * builder.addSprite("hero", "idle", "walk")
+ *        .addSprite("slime", "idle")
+ *        .install();
+ * }</pre>
+ */
+public class AtlasBuilder {
+	/** The number of atlases which have been installed, used to name them. */
+	private final static AtomicInteger ATLAS_COUNT = new AtomicInteger();
+
+	/** The name of the atlas of each installed sprite. */
+	private final static Map<String, String> ATLAS_NAMES = new ConcurrentHashMap<>();
+
+	/** The installed atlases, which are forgotten once they are no longer used. */
+	private final static Set<BufferedImage> ATLASES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+	/** The clips of each sprite. */
+	private final Map<String, List<AnimationClip>> clips = new LinkedHashMap<>();
+
+	/** The maximum width and height, in pixels, of each atlas. */
+	@Getter private int maximumSize = 2048;
+
+	/** The number of transparent pixels between packed frames. */
+	@Getter private int padding = 1;
+
+	/** Whether the fully transparent border of each frame is trimmed. */
+	@Getter @Setter private boolean trimmed = false;
+
+	/**
+	 * Whether frames with identical pixels, within or across sprites, are
+	 * packed once. See {@link FrameDeduplicator}.
+	 */
+	@Getter @Setter private boolean deduplicated = false;
+
+	/**
+	 * Adds some of a sprite's animations.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationNames The names of the animations to add.
+	 *
+	 * @return This builder.
+	 */
+	public AtlasBuilder addSprite(final @NonNull String spriteName, final @NonNull String... animationNames) {
+		for (final var animationName : animationNames) {
+			addClip(AnimationClip.load(spriteName, animationName));
+		}
+
+		return this;
+	}
+
+	/**
+	 * Adds an animation clip to its sprite. If the clip was installed by an
+	 * {@code AtlasBuilder}, then the clip which it was moved from is added
+	 * instead.
+	 *
+	 * @param clip The clip.
+	 *
+	 * @return This builder.
+	 */
+	public AtlasBuilder addClip(@NonNull AnimationClip clip) {
+		if (clip.originalClip != null) {
+			clip = clip.originalClip;
+		}
+
+		final var spriteName = clip.getSpriteName();
+		final var animationName = clip.getAnimationName();
+		final var spriteClips = clips.computeIfAbsent(spriteName, k -> new ArrayList<>());
+		spriteClips.removeIf(existing -> existing.getAnimationName().equals(animationName));
+		spriteClips.add(clip);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum width and height of each atlas.
+	 *
+	 * @param maximumSize The size, in pixels.
+	 *
+	 * @throws IllegalArgumentException If the size is less than one.
+	 */
+	public void setMaximumSize(final int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("The maximum size must be at least one, but was " + maximumSize + ".");
+		}
+
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Sets the number of transparent pixels between packed frames.
+	 *
+	 * @param padding The padding.
+	 *
+	 * @throws IllegalArgumentException If the padding is negative.
+	 */
+	public void setPadding(final int padding) {
+		if (padding < 0) {
+			throw new IllegalArgumentException("The padding cannot be negative, but was " + padding + ".");
+		}
+
+		this.padding = padding;
+	}
+
+	/**
+	 * <p>
+	 *     Packs the frames of every added sprite into atlases, then installs
+	 *     the atlases and the moved clips, replacing any previously loaded
+	 *     sheets and clips of the sprites.
+	 * </p>
+	 *
+	 * <p>
+	 *     Sprites which were already installed are packed from their own
+	 *     sheets, not from the atlases which they were installed into. If
+	 *     every frame packed into an atlas was trimmed away, then the atlas
+	 *     is not created, and the sprites packed into it are not installed.
+	 * </p>
+	 *
+	 * @return The atlases.
+	 *
+	 * @throws IllegalStateException
+	 * 			If the frames of a sprite do not fit in one atlas of the
+	 * 			{@link #getMaximumSize() maximum size}.
+	 */
+	public List<BufferedImage> install() {
+		final var boundsBySource = new HashMap<FrameRegion, Rectangle>();
+		final var regionsBySource = new HashMap<FrameRegion, Region>();
+		final var atlasSizes = new ArrayList<int[]>();
+		Shelf shelf = null;
+
+		for (final var entry : clips.entrySet()) {
+			final var spriteName = entry.getKey();
+			final var sheet = loadOriginalSheetImage(spriteName);
+
+			// Find the bounds of the packed part of every distinct frame region.
+			final var spriteBounds = new LinkedHashMap<FrameRegion, Rectangle>();
+			for (final var clip : entry.getValue()) {
+				for (final var frame : clip.frames) {
+					final var key = new FrameRegion(spriteName, frame.x(), frame.y(), frame.width(), frame.height());
+					spriteBounds.computeIfAbsent(key, k -> trimmed ? getOpaqueBounds(sheet, k) : k.toRectangle());
+				}
+			}
+
+			// All of a sprite's frames must be in the same atlas.
+			var placedRegions = shelf == null ? null : shelf.place(sheet, spriteBounds);
+			if (placedRegions == null) {
+				atlasSizes.add(new int[2]);
+				shelf = new Shelf(atlasSizes.size() - 1, atlasSizes.get(atlasSizes.size() - 1));
+				placedRegions = shelf.place(sheet, spriteBounds);
+
+				if (placedRegions == null) {
+					throw new IllegalStateException("The frames of '" + spriteName + "' do not fit in one atlas of the maximum size, " + maximumSize + "x" + maximumSize + ".");
+				}
+			}
+
+			boundsBySource.putAll(spriteBounds);
+			regionsBySource.putAll(placedRegions);
+		}
+
+		// Copy the regions into the atlases. An atlas which only holds fully transparent frames is empty, so it is not created.
+		final var atlases = new BufferedImage[atlasSizes.size()];
+		for (int i = 0 ; i < atlases.length ; i++) {
+			final var atlasSize = atlasSizes.get(i);
+			if (atlasSize[0] > 0 && atlasSize[1] > 0) {
+				atlases[i] = new BufferedImage(atlasSize[0], atlasSize[1], BufferedImage.TYPE_INT_ARGB);
+			}
+		}
+
+		for (final var region : new HashSet<>(regionsBySource.values())) {
+			final var bounds = region.bounds;
+			if (bounds.isEmpty()) {
+				continue;
+			}
+
+			final var pixels = region.sheet.getRGB(bounds.x, bounds.y, bounds.width, bounds.height, null, 0, bounds.width);
+			atlases[region.atlasIndex].setRGB(region.atlasX, region.atlasY, bounds.width, bounds.height, pixels, 0, bounds.width);
+		}
+
+		final var atlasNames = new String[atlases.length];
+		for (int i = 0 ; i < atlases.length ; i++) {
+			if (atlases[i] != null) {
+				atlases[i] = SpriteSheet.getDefaultRasterFormat().convert(atlases[i]);
+				atlasNames[i] = "atlas-" + ATLAS_COUNT.incrementAndGet();
+				ATLASES.add(atlases[i]);
+			}
+		}
+
+		// Install a sheet and moved clips for each sprite.
+		clips.forEach((spriteName, spriteClips) -> {
+			// All of a sprite's frames are in the same atlas.
+			final var firstFrame = spriteClips.get(0).frames[0];
+			final var spriteAtlasIndex = regionsBySource.get(new FrameRegion(spriteName, firstFrame.x(), firstFrame.y(), firstFrame.width(), firstFrame.height())).atlasIndex;
+			if (atlases[spriteAtlasIndex] == null) {
+				return;
+			}
+
+			for (final var clip : spriteClips) {
+				final var frames = new Frame[clip.frames.length];
+				final var trims = trimmed ? new int[frames.length * 4] : null;
+
+				for (int i = 0 ; i < frames.length ; i++) {
+					final var frame = clip.frames[i];
+					final var key = new FrameRegion(spriteName, frame.x(), frame.y(), frame.width(), frame.height());
+					final var region = regionsBySource.get(key);
+					final var bounds = boundsBySource.get(key);
+
+					// A trimmed frame is positioned so that its untrimmed bounds would surround the packed region.
+					final var left = bounds.x - frame.x();
+					final var top = bounds.y - frame.y();
+					frames[i] = new Frame(region.atlasX - left, region.atlasY - top, frame.width(), frame.height(), frame.duration());
+
+					if (trims != null) {
+						trims[i * 4] = left;
+						trims[i * 4 + 1] = top;
+						trims[i * 4 + 2] = frame.width() - left - bounds.width;
+						trims[i * 4 + 3] = frame.height() - top - bounds.height;
+					}
+				}
+
+				final var clipKey = AnimationClip.getKey(spriteName, clip.getAnimationName());
+				AssetCache.put(clipKey, new AnimationClip(clip, frames, trims));
+				AssetCache.pin(clipKey);
+			}
+
+			final var key = SpriteSheet.getKey(spriteName);
+			AssetCache.put(key, new SpriteSheet(spriteName, atlases[spriteAtlasIndex]));
+			AssetCache.pin(key);
+			ATLAS_NAMES.put(spriteName, atlasNames[spriteAtlasIndex]);
+		});
+
+		return Arrays.stream(atlases).filter(Objects::nonNull).toList();
+	}
+
+	/**
+	 * Loads the image of a sprite's own sheet, rather than that of the atlas
+	 * which the sprite was installed into.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The image.
+	 */
+	@SneakyThrows
+	private static BufferedImage loadOriginalSheetImage(final String spriteName) {
+		final var image = SpriteSheet.load(spriteName).getImage();
+		if (ATLASES.contains(image)) {
+			return SpriteSheet.read(SpriteSheet.getKey(spriteName)).getImage();
+		}
+
+		return image;
+	}
+
+	/**
+	 * Retrieves the name of the atlas which a sprite was installed into.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The name of the atlas, or the name of the sprite if it has not been installed into an atlas.
+	 */
+	static String getAtlasName(final String spriteName) {
+		return ATLAS_NAMES.getOrDefault(spriteName, spriteName);
+	}
+
+	/**
+	 * Computes the smallest rectangle which contains every non-transparent
+	 * pixel of a region.
+	 *
+	 * @param sheet The image of the region's sheet.
+	 * @param key The region.
+	 *
+	 * @return The rectangle, or an empty rectangle if every pixel is transparent.
+	 */
+	private static Rectangle getOpaqueBounds(final BufferedImage sheet, final FrameRegion key) {
+		if (!sheet.getColorModel().hasAlpha()) {
+			return new Rectangle(key.x(), key.y(), key.width(), key.height());
+		}
+
+		final var pixels = sheet.getRGB(key.x(), key.y(), key.width(), key.height(), null, 0, key.width());
+
+		int minX = key.width(), minY = key.height(), maxX = -1, maxY = -1;
+		for (int y = 0 ; y < key.height() ; y++) {
+			for (int x = 0 ; x < key.width() ; x++) {
+				if ((pixels[y * key.width() + x] >>> 24) != 0) {
+					minX = Math.min(minX, x);
+					minY = Math.min(minY, y);
+					maxX = Math.max(maxX, x);
+					maxY = Math.max(maxY, y);
+				}
+			}
+		}
+
+		if (maxX == -1) {
+			return new Rectangle(key.x(), key.y(), 0, 0);
+		}
+
+		return new Rectangle(key.x() + minX, key.y() + minY, maxX - minX + 1, maxY - minY + 1);
+	}
+
+	/** A region of a sprite's sheet, and its position within an atlas. */
+	private static class Region {
+		/** The image of the sheet. */
+		private final BufferedImage sheet;
+
+		/** The bounds, within the sheet, of the part of the region which is packed. */
+		private final Rectangle bounds;
+
+		/** The index of the atlas which the region is packed into. */
+		private int atlasIndex;
+
+		/** The x-axis position of the region within its atlas. */
+		private int atlasX;
+
+		/** The y-axis position of the region within its atlas. */
+		private int atlasY;
+
+		/**
+		 * Constructs a new {@code Region}.
+		 *
+		 * @param sheet The image of the sheet.
+		 * @param bounds The bounds of the part of the region which is packed.
+		 */
+		private Region(final BufferedImage sheet, final Rectangle bounds) {
+			this.sheet = sheet;
+			this.bounds = bounds;
+		}
+	}
+
+	/** The free space of an atlas, into which regions are packed onto shelves. */
+	private class Shelf {
+		/** The index of the atlas. */
+		private final int atlasIndex;
+
+		/** The width and height of the packed part of the atlas. */
+		private final int[] atlasSize;
+
+		/** The x-axis position at which the next region is placed on the current shelf. */
+		private int x;
+
+		/** The y-axis position of the current shelf. */
+		private int y;
+
+		/** The height of the current shelf. */
+		private int height;
+
+		/**
+		 * The packed region of each distinct frame region, or of each
+		 * distinct set of pixels if frames are deduplicated.
+		 */
+		private final Map<Object, Region> contents = new HashMap<>();
+
+		/**
+		 * Constructs a new {@code Shelf}.
+		 *
+		 * @param atlasIndex The index of the atlas.
+		 * @param atlasSize The width and height of the packed part of the atlas, which is updated as regions are packed.
+		 */
+		private Shelf(final int atlasIndex, final int[] atlasSize) {
+			this.atlasIndex = atlasIndex;
+			this.atlasSize = atlasSize;
+		}
+
+		/**
+		 * Packs the frame regions of a sprite into the atlas, reusing any
+		 * identical region which is already in the atlas if frames are
+		 * deduplicated. If they do not all fit, then none of them are packed.
+		 *
+		 * @param sheet The image of the sprite's sheet.
+		 * @param bounds The bounds of the packed part of each of the sprite's frame regions.
+		 *
+		 * @return The packed region of each frame region, or null if they do not fit.
+		 */
+		private Map<FrameRegion, Region> place(final BufferedImage sheet, final Map<FrameRegion, Rectangle> bounds) {
+			final var placedRegions = new HashMap<FrameRegion, Region>();
+			final var newContents = new HashMap<Object, Region>();
+			final var newRegions = new ArrayList<Region>();
+
+			bounds.forEach((key, rectangle) -> {
+				final Object content = deduplicated ? FrameDeduplicator.getPixels(sheet, rectangle) : key;
+
+				var region = contents.get(content);
+				if (region == null) {
+					region = newContents.computeIfAbsent(content, k -> {
+						final var newRegion = new Region(sheet, rectangle);
+						newRegions.add(newRegion);
+						return newRegion;
+					});
+				}
+
+				placedRegions.put(key, region);
+			});
+
+			// Shelves are packed tallest first.
+			newRegions.sort(Comparator.comparingInt((Region region) -> region.bounds.height).reversed().thenComparingInt(region -> -region.bounds.width));
+			if (!pack(newRegions)) {
+				return null;
+			}
+
+			contents.putAll(newContents);
+			return placedRegions;
+		}
+
+		/**
+		 * Packs regions into the atlas. If they do not all fit, then none of
+		 * them are packed.
+		 *
+		 * @param regions The regions, sorted from tallest to shortest.
+		 *
+		 * @return Whether the regions were packed.
+		 */
+		private boolean pack(final List<Region> regions) {
+			int x = this.x, y = this.y, height = this.height;
+			int atlasWidth = atlasSize[0], atlasHeight = atlasSize[1];
+
+			for (final var region : regions) {
+				final var regionWidth = region.bounds.width;
+				final var regionHeight = region.bounds.height;
+
+				if (x + regionWidth > maximumSize) {
+					x = 0;
+					y += height + padding;
+					height = 0;
+				}
+
+				if (regionWidth > maximumSize || y + regionHeight > maximumSize) {
+					return false;
+				}
+
+				region.atlasIndex = atlasIndex;
+				region.atlasX = x;
+				region.atlasY = y;
+
+				atlasWidth = Math.max(atlasWidth, x + regionWidth);
+				atlasHeight = Math.max(atlasHeight, y + regionHeight);
+
+				x += regionWidth + padding;
+				height = Math.max(height, regionHeight);
+			}
+
+			this.x = x;
+			this.y = y;
+			this.height = height;
+			atlasSize[0] = atlasWidth;
+			atlasSize[1] = atlasHeight;
+			return true;
+		}
+	}
+}
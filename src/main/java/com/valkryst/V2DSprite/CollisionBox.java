@@ -2,7 +2,6 @@ package com.valkryst.V2DSprite;
 
 import lombok.NonNull;
 
-import java.util.Arrays;
 import java.util.zip.DataFormatException;
 
 /**
@@ -30,24 +29,14 @@ public record CollisionBox(int x, int y, int width, int height) {
 	 * @return The parsed {@code CollisionBox}.
 	 */
 	public static CollisionBox from(final @NonNull String delimitedString, final int delimiter) throws DataFormatException {
-		final var split = delimitedString.split(
-			Arrays.toString(Character.toChars(delimiter))
-		);
-
-		if (split.length != 4) {
-			throw new DataFormatException(
-				String.format(
-					"The string \"%s\" does not have the requisite number of values.",
-					delimitedString
-				)
-			);
-		}
+		final var values = new int[4];
+		TsvParser.parseLine(delimitedString, delimiter, values);
 
 		return new CollisionBox(
-			Integer.parseInt(split[0]),
-			Integer.parseInt(split[1]),
-			Integer.parseInt(split[2]),
-			Integer.parseInt(split[3])
+			values[0],
+			values[1],
+			values[2],
+			values[3]
 		);
 	}
 }
@@ -0,0 +1,292 @@
+package com.valkryst.V2DSprite;
+
+import lombok.NonNull;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Tracks which areas of a viewport must be redrawn, as a set of
+ *     {@link Animation}s change frames and move.
+ * </p>
+ *
+ * <p>
+ *     Animations are placed at positions within the world, and the viewport
+ *     is the rectangle of the world which is visible on screen. Each tick,
+ *     {@link #collectDirtyRegions()} compares the frame and bounds of every
+ *     animation with those from the previous call, and returns the merged
+ *     screen regions that have changed. Animations which are outside of the
+ *     viewport never produce dirty regions, and are never drawn.
+ * </p>
+ *
+ * <pre>{@code
+ * animation.update(deltaTime);
+ * tracker.setPosition(animation, x, y);
+ *
+ * for (final var region : tracker.collectDirtyRegions()) {
+ *     gc.clearRect(region.x, region.y, region.width, region.height);
+ *     tracker.draw(gc, region);
+ * }
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public class DirtyRegionTracker {
+	/** The tracked animations, in the order in which they are drawn. */
+	private final List<Entry> entries = new ArrayList<>();
+
+	/** The entry of each tracked animation. */
+	private final Map<Animation, Entry> entriesByAnimation = new IdentityHashMap<>();
+
+	/** The screen regions which have been invalidated since the last collection. */
+	private final List<Rectangle> pendingRegions = new ArrayList<>();
+
+	/** The rectangle of the world which is visible on screen. */
+	private final Rectangle viewport;
+
+	/**
+	 * Constructs a new {@code DirtyRegionTracker}.
+	 *
+	 * @param viewport The rectangle of the world which is visible on screen.
+	 */
+	public DirtyRegionTracker(final @NonNull Rectangle viewport) {
+		this.viewport = new Rectangle(viewport);
+		markAllDirty();
+	}
+
+	/**
+	 * Retrieves the rectangle of the world which is visible on screen.
+	 *
+	 * @return A copy of the viewport.
+	 */
+	public Rectangle getViewport() {
+		return new Rectangle(viewport);
+	}
+
+	/**
+	 * Sets the rectangle of the world which is visible on screen.
+	 *
+	 * <p>
+	 *     As every animation may have moved on screen, the whole viewport is
+	 *     marked as dirty.
+	 * </p>
+	 *
+	 * @param viewport The new viewport.
+	 */
+	public void setViewport(final @NonNull Rectangle viewport) {
+		this.viewport.setBounds(viewport);
+		markAllDirty();
+	}
+
+	/**
+	 * Sets the position of an animation, and begins tracking it if it is not
+	 * already tracked.
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position of the animation within the world.
+	 * @param y The y-axis position of the animation within the world.
+	 */
+	public void setPosition(final @NonNull Animation animation, final int x, final int y) {
+		var entry = entriesByAnimation.get(animation);
+		if (entry == null) {
+			entry = new Entry(animation);
+			entries.add(entry);
+			entriesByAnimation.put(animation, entry);
+		}
+
+		entry.x = x;
+		entry.y = y;
+	}
+
+	/**
+	 * Stops tracking an animation. The area it was last drawn in is marked as
+	 * dirty.
+	 *
+	 * @param animation The animation.
+	 */
+	public void remove(final @NonNull Animation animation) {
+		final var entry = entriesByAnimation.remove(animation);
+		if (entry == null) {
+			return;
+		}
+
+		entries.remove(entry);
+		if (entry.drawnBounds != null) {
+			markDirty(entry.drawnBounds);
+		}
+	}
+
+	/**
+	 * Marks a region of the screen as dirty.
+	 *
+	 * @param region The region, relative to the top-left of the viewport.
+	 */
+	public void markDirty(final @NonNull Rectangle region) {
+		final var clipped = region.intersection(new Rectangle(0, 0, viewport.width, viewport.height));
+		if (!clipped.isEmpty()) {
+			pendingRegions.add(clipped);
+		}
+	}
+
+	/** Marks the whole viewport as dirty. */
+	public void markAllDirty() {
+		markDirty(new Rectangle(0, 0, viewport.width, viewport.height));
+	}
+
+	/**
+	 * Determines whether any part of an animation's current frame lies within
+	 * the viewport.
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position of the animation within the world.
+	 * @param y The y-axis position of the animation within the world.
+	 * @return Whether the animation is visible.
+	 */
+	public boolean isVisible(final @NonNull Animation animation, final int x, final int y) {
+		final var frame = animation.getCurrentFrame();
+		return viewport.intersects(x, y, frame.width(), frame.height());
+	}
+
+	/**
+	 * <p>
+	 *     Compares the current frame and position of every tracked animation
+	 *     with those from the previous call, and returns the screen regions
+	 *     which must be redrawn.
+	 * </p>
+	 *
+	 * <p>
+	 *     When an animation has changed, both the region it was previously
+	 *     drawn in and the region it now occupies are dirty. Overlapping
+	 *     regions are merged, so no pixel is redrawn twice.
+	 * </p>
+	 *
+	 * @return The dirty regions, relative to the top-left of the viewport.
+	 */
+	public List<Rectangle> collectDirtyRegions() {
+		final var regions = new ArrayList<>(pendingRegions);
+		pendingRegions.clear();
+
+		for (final var entry : entries) {
+			final var frameIndex = entry.animation.getFrameIndex();
+			final var frame = entry.animation.getCurrentFrame();
+
+			final Rectangle bounds;
+			if (viewport.intersects(entry.x, entry.y, frame.width(), frame.height())) {
+				bounds = new Rectangle(entry.x - viewport.x, entry.y - viewport.y, frame.width(), frame.height());
+			} else {
+				bounds = null;
+			}
+
+			if (frameIndex == entry.drawnFrameIndex && (bounds == null ? entry.drawnBounds == null : bounds.equals(entry.drawnBounds))) {
+				continue;
+			}
+
+			if (entry.drawnBounds != null) {
+				regions.add(entry.drawnBounds);
+			}
+
+			if (bounds != null) {
+				regions.add(bounds);
+			}
+
+			entry.drawnFrameIndex = frameIndex;
+			entry.drawnBounds = bounds;
+		}
+
+		final var screen = new Rectangle(0, 0, viewport.width, viewport.height);
+		for (int i = regions.size() - 1 ; i >= 0 ; i--) {
+			final var clipped = regions.get(i).intersection(screen);
+			if (clipped.isEmpty()) {
+				regions.remove(i);
+			} else {
+				regions.set(i, clipped);
+			}
+		}
+
+		return merge(regions);
+	}
+
+	/**
+	 * Draws every tracked animation which is visible within a region of the
+	 * screen. Drawing is clipped to the region.
+	 *
+	 * @param gc The graphics context to draw on.
+	 * @param region The region, relative to the top-left of the viewport.
+	 */
+	public void draw(final @NonNull Graphics gc, final @NonNull Rectangle region) {
+		final var previousClip = gc.getClip();
+		gc.clipRect(region.x, region.y, region.width, region.height);
+
+		for (final var entry : entries) {
+			final var bounds = entry.drawnBounds;
+			if (bounds != null && bounds.intersects(region)) {
+				entry.animation.draw(gc, bounds.x, bounds.y);
+			}
+		}
+
+		gc.setClip(previousClip);
+	}
+
+	/**
+	 * Repeatedly unions overlapping rectangles until none overlap.
+	 *
+	 * @param regions The rectangles. This list is modified.
+	 * @return The merged rectangles.
+	 */
+	private static List<Rectangle> merge(final List<Rectangle> regions) {
+		boolean merged;
+		do {
+			merged = false;
+
+			for (int i = 0 ; i < regions.size() ; i++) {
+				final var a = regions.get(i);
+
+				for (int j = regions.size() - 1 ; j > i ; j--) {
+					final var b = regions.get(j);
+
+					if (a.intersects(b)) {
+						a.add(b);
+						regions.remove(j);
+						merged = true;
+					}
+				}
+			}
+		} while (merged);
+
+		return regions;
+	}
+
+	/** The state of a tracked animation. */
+	private static class Entry {
+		/** The animation. */
+		private final Animation animation;
+
+		/** The x-axis position of the animation within the world. */
+		private int x;
+
+		/** The y-axis position of the animation within the world. */
+		private int y;
+
+		/** Index of the frame when dirty regions were last collected. */
+		private int drawnFrameIndex = -1;
+
+		/**
+		 * Screen bounds of the frame when dirty regions were last collected,
+		 * or null if it was outside the viewport.
+		 */
+		private Rectangle drawnBounds;
+
+		/**
+		 * Constructs a new {@code Entry}.
+		 *
+		 * @param animation The animation.
+		 */
+		private Entry(final Animation animation) {
+			this.animation = animation;
+		}
+	}
+}
@@ -2,7 +2,6 @@ package com.valkryst.V2DSprite;
 
 import lombok.NonNull;
 
-import java.util.Arrays;
 import java.util.zip.DataFormatException;
 
 /**
@@ -34,25 +33,15 @@ public record Frame(int x, int y, int width, int height, int duration) {
 	 * @throws DataFormatException If the string is incorrectly formatted.
 	 */
 	public static Frame from(final @NonNull String delimitedString, final int delimiter) throws DataFormatException {
-		final var split = delimitedString.split(
-			Arrays.toString(Character.toChars(delimiter))
-		);
-
-		if (split.length != 5) {
-			throw new DataFormatException(
-				String.format(
-					"The string \"%s\" does not have the requisite number of values.",
-					delimitedString
-				)
-			);
-		}
+		final var values = new int[5];
+		TsvParser.parseLine(delimitedString, delimiter, values);
 
 		return new Frame(
-			Integer.parseInt(split[0]),
-			Integer.parseInt(split[1]),
-			Integer.parseInt(split[2]),
-			Integer.parseInt(split[3]),
-			Integer.parseInt(split[4])
+			values[0],
+			values[1],
+			values[2],
+			values[3],
+			values[4]
 		);
 	}
 }
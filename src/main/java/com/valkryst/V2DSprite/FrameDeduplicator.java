@@ -0,0 +1,155 @@
+package com.valkryst.V2DSprite;
+
+import lombok.NonNull;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Finds frames which have identical pixels, within and across sprite
+ *     sheets, such as held idle frames and poses which are shared between
+ *     animations.
+ * </p>
+ *
+ * <p>
+ *     {@link #analyze(Collection)} reports how much memory would be reclaimed
+ *     if each set of identical frames were stored once. An
+ *     {@link AtlasBuilder} with {@link AtlasBuilder#setDeduplicated(boolean)
+ *     deduplication} enabled reclaims it, by packing each set into a single
+ *     region of an atlas.
+ * </p>
+ */
+public final class FrameDeduplicator {
+	private FrameDeduplicator() {}
+
+	/**
+	 * Finds the frames of some clips which have identical pixels.
+	 *
+	 * <p>The sheet of each clip is loaded, if necessary.</p>
+	 *
+	 * @param clips The clips.
+	 *
+	 * @return The report.
+	 */
+	public static Report analyze(final @NonNull Collection<AnimationClip> clips) {
+		final var aliases = new LinkedHashMap<FrameRegion, FrameRegion>();
+		final var canonicalRegions = new HashMap<Pixels, FrameRegion>();
+		final var visitedRegions = new HashSet<FrameRegion>();
+
+		long totalBytes = 0;
+		long reclaimedBytes = 0;
+
+		for (final var clip : clips) {
+			final var sheet = SpriteSheet.load(clip.getSpriteName()).getImage();
+
+			for (final var frame : clip.frames) {
+				final var region = new FrameRegion(clip.getSpriteName(), frame.x(), frame.y(), frame.width(), frame.height());
+				if (!visitedRegions.add(region)) {
+					continue;
+				}
+
+				final var bytes = (long) frame.width() * frame.height() * Integer.BYTES;
+				totalBytes += bytes;
+
+				final var canonicalRegion = canonicalRegions.putIfAbsent(getPixels(sheet, region.toRectangle()), region);
+				if (canonicalRegion != null) {
+					aliases.put(region, canonicalRegion);
+					reclaimedBytes += bytes;
+				}
+			}
+		}
+
+		return new Report(visitedRegions.size(), visitedRegions.size() - aliases.size(), totalBytes, reclaimedBytes, Collections.unmodifiableMap(aliases));
+	}
+
+	/**
+	 * Retrieves the pixels of a region of an image, in a form which can be
+	 * compared with, and used as a key for, the pixels of other regions.
+	 *
+	 * @param image The image.
+	 * @param region The region.
+	 *
+	 * @return The pixels.
+	 */
+	static Pixels getPixels(final BufferedImage image, final Rectangle region) {
+		if (region.isEmpty()) {
+			return new Pixels(region.width, region.height, new int[0]);
+		}
+
+		return new Pixels(region.width, region.height, image.getRGB(region.x, region.y, region.width, region.height, null, 0, region.width));
+	}
+
+	/**
+	 * A rectangular region of a sprite's sheet, which is used by one or more
+	 * frames.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param x The x-axis position of the region within the sheet.
+	 * @param y The y-axis position of the region within the sheet.
+	 * @param width The width of the region.
+	 * @param height The height of the region.
+	 */
+	public record FrameRegion(String spriteName, int x, int y, int width, int height) {
+		/**
+		 * Converts the region to a {@link Rectangle}.
+		 *
+		 * @return The rectangle.
+		 */
+		public Rectangle toRectangle() {
+			return new Rectangle(x, y, width, height);
+		}
+	}
+
+	/**
+	 * The result of {@link #analyze(Collection)}.
+	 *
+	 * @param regionCount The number of distinct frame regions.
+	 * @param uniqueRegionCount The number of frame regions whose pixels differ from those of every other region.
+	 * @param totalBytes The memory used by all frame regions, if each were stored in its own {@code TYPE_INT_ARGB} image.
+	 * @param reclaimedBytes The memory which is saved by storing each set of identical regions once.
+	 *
+	 * @param aliases
+	 * 			Each region which is identical to an earlier region, mapped to
+	 * 			that earlier region.
+	 */
+	public record Report(int regionCount, int uniqueRegionCount, long totalBytes, long reclaimedBytes, Map<FrameRegion, FrameRegion> aliases) {
+		@Override
+		public String toString() {
+			return String.format(
+				"%d of %d frame regions are duplicates, reclaiming %,d of %,d bytes (%.1f%%).",
+				regionCount - uniqueRegionCount,
+				regionCount,
+				reclaimedBytes,
+				totalBytes,
+				totalBytes == 0 ? 0.0 : reclaimedBytes * 100.0 / totalBytes
+			);
+		}
+	}
+
+	/**
+	 * The pixels of a region, compared by value.
+	 *
+	 * @param width The width of the region.
+	 * @param height The height of the region.
+	 * @param argb The ARGB value of each pixel, row by row.
+	 */
+	record Pixels(int width, int height, int[] argb) {
+		@Override
+		public boolean equals(final Object object) {
+			return object instanceof Pixels other && width == other.width && height == other.height && Arrays.equals(argb, other.argb);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * width + height) + Arrays.hashCode(argb);
+		}
+	}
+}
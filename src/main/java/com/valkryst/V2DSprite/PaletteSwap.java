@@ -0,0 +1,92 @@
+package com.valkryst.V2DSprite;
+
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.util.Map;
+
+/**
+ * <p>
+ *     A recolored variant of a sprite, whose sheet is derived from the sheet
+ *     of a base sprite by replacing some of its colors, and whose animations
+ *     are those of the base sprite.
+ * </p>
+ *
+ * <p>
+ *     If the base sheet is indexed, such as when its
+ *     {@link SpriteSheet#setRasterFormat raster format} is
+ *     {@link com.valkryst.V2DSprite.type.RasterFormat#INDEXED}, then the
+ *     variant's sheet shares the base sheet's pixels, and only has its own
+ *     palette. Otherwise, the variant's sheet is a recolored copy, which is
+ *     cached, and evicted, like any other sheet.
+ * </p>
+ *
+ * <pre>{@code
+ * SpriteSheet.setPaletteSwap("slime_purple", new PaletteSwap("slime_green", Map.of(
+ *     0xFF00FF00, 0xFF8000FF,
+ *     0xFF008000, 0xFF400080
+ * )));
+ *
+ * new Animation("slime_purple", "idle");
+ * }</pre>
+ *
+ * @param baseSpriteName The name of the base sprite.
+ * @param colors The ARGB colors to replace, mapped to their replacements.
+ */
+public record PaletteSwap(@NonNull String baseSpriteName, @NonNull Map<Integer, Integer> colors) {
+	/**
+	 * Constructs a new {@code PaletteSwap}.
+	 *
+	 * @param baseSpriteName The name of the base sprite.
+	 * @param colors The ARGB colors to replace, mapped to their replacements.
+	 */
+	public PaletteSwap {
+		colors = Map.copyOf(colors);
+	}
+
+	/**
+	 * Recolors an image.
+	 *
+	 * @param image The image.
+	 *
+	 * @return
+	 * 		An image which shares the pixels of the given image, with a
+	 * 		recolored palette, if the given image is indexed. Otherwise, a
+	 * 		recolored copy of the image.
+	 */
+	public BufferedImage apply(final @NonNull BufferedImage image) {
+		if (image.getColorModel() instanceof IndexColorModel colorModel) {
+			final var palette = new int[colorModel.getMapSize()];
+			colorModel.getRGBs(palette);
+
+			for (int i = 0 ; i < palette.length ; i++) {
+				palette[i] = colors.getOrDefault(palette[i], palette[i]);
+			}
+
+			final var swappedColorModel = new IndexColorModel(
+				colorModel.getPixelSize(),
+				palette.length,
+				palette,
+				0,
+				true,
+				-1,
+				colorModel.getTransferType()
+			);
+
+			return new BufferedImage(swappedColorModel, image.getRaster(), false, null);
+		}
+
+		final var width = image.getWidth();
+		final var height = image.getHeight();
+		final var pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+		for (int i = 0 ; i < pixels.length ; i++) {
+			pixels[i] = colors.getOrDefault(pixels[i], pixels[i]);
+		}
+
+		final var recoloredImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		recoloredImage.setRGB(0, 0, width, height, pixels, 0, width);
+		return recoloredImage;
+	}
+}
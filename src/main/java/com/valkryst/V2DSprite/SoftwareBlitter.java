@@ -0,0 +1,390 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.type.BlendMode;
+import com.valkryst.V2DSprite.type.RasterFormat;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * <p>
+ *     Draws frames directly into an {@code int[]} framebuffer, without
+ *     going through Java2D.
+ * </p>
+ *
+ * <p>
+ *     Each blit is a plain loop over the rows of a frame, which copies or
+ *     composites the pixels of a {@link BufferedImage#TYPE_INT_ARGB_PRE}
+ *     sheet into the framebuffer. This avoids the pipeline validation which
+ *     {@link java.awt.Graphics#drawImage} performs on every call, and which
+ *     dominates the cost of drawing small frames. Frames can be mirrored
+ *     horizontally, and are clipped to the framebuffer and to an optional
+ *     clip rectangle.
+ * </p>
+ *
+ * <p>
+ *     When drawing random 32x32 frames from a 1024x1024
+ *     {@code TYPE_INT_ARGB_PRE} sheet onto a 1280x720
+ *     {@code TYPE_INT_ARGB_PRE} image, {@link BlendMode#SRC_OVER} was
+ *     measured at roughly 174,000 blits per second, compared to 132,000
+ *     for {@code drawImage}, and {@link BlendMode#OPAQUE} at 1,160,000.
+ *     See {@code SoftwareBlitterBenchmark} in the test sources.
+ * </p>
+ *
+ * <p>
+ *     The framebuffer's pixels are premultiplied ARGB, as in
+ *     {@link BufferedImage#TYPE_INT_ARGB_PRE}, or RGB with an ignored alpha
+ *     byte, as in {@link BufferedImage#TYPE_INT_RGB}. Sheets, and sliced
+ *     frames, in other layouts are converted once, and the copy is kept, and
+ *     counted in the cache, with the sheet or clip, so sheets which are only
+ *     blitted should use {@link RasterFormat#PREMULTIPLIED}.
+ * </p>
+ *
+ * <pre>{@code
+ * final var frameBuffer = new BufferedImage(320, 240, BufferedImage.TYPE_INT_ARGB_PRE);
+ * final var blitter = new SoftwareBlitter(frameBuffer);
+ *
+ * for (final var mob : mobs) {
+ *     blitter.draw(mob.getAnimation(), mob.getX(), mob.getY(), BlendMode.SRC_OVER, mob.isFacingLeft());
+ * }
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public final class SoftwareBlitter {
+	/** The pixels of the framebuffer. */
+	private final int[] pixels;
+
+	/** The width of the framebuffer. */
+	@Getter private final int width;
+
+	/** The height of the framebuffer. */
+	@Getter private final int height;
+
+	/** The x-axis position of the clip's left edge. */
+	private int clipLeft;
+
+	/** The y-axis position of the clip's top edge. */
+	private int clipTop;
+
+	/** The x-axis position just past the clip's right edge. */
+	private int clipRight;
+
+	/** The y-axis position just past the clip's bottom edge. */
+	private int clipBottom;
+
+	/**
+	 * Constructs a new {@code SoftwareBlitter}.
+	 *
+	 * @param pixels The pixels of the framebuffer, row by row.
+	 * @param width The width of the framebuffer.
+	 * @param height The height of the framebuffer.
+	 *
+	 * @throws IllegalArgumentException If the size is negative, or does not match the number of pixels.
+	 */
+	public SoftwareBlitter(final int @NonNull [] pixels, final int width, final int height) {
+		if (width < 0 || height < 0 || (long) width * height != pixels.length) {
+			throw new IllegalArgumentException("A " + width + "x" + height + " framebuffer cannot have " + pixels.length + " pixels.");
+		}
+
+		this.pixels = pixels;
+		this.width = width;
+		this.height = height;
+		resetClip();
+	}
+
+	/**
+	 * <p>Constructs a new {@code SoftwareBlitter}, which draws into an image.</p>
+	 *
+	 * <p>
+	 *     Java2D may no longer accelerate the image, as its pixels are
+	 *     modified directly.
+	 * </p>
+	 *
+	 * @param image The image.
+	 *
+	 * @throws IllegalArgumentException
+	 * 			If the image is not a {@link BufferedImage#TYPE_INT_ARGB_PRE}
+	 * 			or {@link BufferedImage#TYPE_INT_RGB} image, or is a sub-image.
+	 */
+	public SoftwareBlitter(final @NonNull BufferedImage image) {
+		this(getFrameBufferPixels(image), image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * Retrieves the pixels of an image which is used as a framebuffer.
+	 *
+	 * @param image The image.
+	 *
+	 * @return The pixels.
+	 *
+	 * @throws IllegalArgumentException If the image cannot be used as a framebuffer.
+	 */
+	private static int[] getFrameBufferPixels(final BufferedImage image) {
+		final var type = image.getType();
+		if (type != BufferedImage.TYPE_INT_ARGB_PRE && type != BufferedImage.TYPE_INT_RGB) {
+			throw new IllegalArgumentException("The framebuffer must be a TYPE_INT_ARGB_PRE or TYPE_INT_RGB image, but was of type " + type + ".");
+		}
+
+		final var raster = image.getRaster();
+		final var pixels = ((DataBufferInt) raster.getDataBuffer()).getData();
+		if (pixels.length != image.getWidth() * image.getHeight() || raster.getParent() != null) {
+			throw new IllegalArgumentException("The framebuffer cannot be a sub-image.");
+		}
+
+		return pixels;
+	}
+
+	/**
+	 * Sets the clip, outside of which nothing is drawn.
+	 *
+	 * @param x The x-axis position of the clip's top-left pixel.
+	 * @param y The y-axis position of the clip's top-left pixel.
+	 * @param width The width of the clip.
+	 * @param height The height of the clip.
+	 */
+	public void setClip(final int x, final int y, final int width, final int height) {
+		final var clip = new Rectangle(x, y, Math.max(0, width), Math.max(0, height)).intersection(new Rectangle(0, 0, this.width, this.height));
+		clipLeft = clip.x;
+		clipTop = clip.y;
+		clipRight = clip.x + Math.max(0, clip.width);
+		clipBottom = clip.y + Math.max(0, clip.height);
+	}
+
+	/** Resets the clip to the bounds of the framebuffer. */
+	public void resetClip() {
+		clipLeft = 0;
+		clipTop = 0;
+		clipRight = width;
+		clipBottom = height;
+	}
+
+	/**
+	 * Retrieves the clip.
+	 *
+	 * @return The clip.
+	 */
+	public Rectangle getClip() {
+		return new Rectangle(clipLeft, clipTop, clipRight - clipLeft, clipBottom - clipTop);
+	}
+
+	/**
+	 * <p>
+	 *     Draws the current {@link Frame} of an {@link Animation}, with its
+	 *     top-left pixel at the given position.
+	 * </p>
+	 *
+	 * <p>
+	 *     If non-blocking drawing is enabled, and the sheet is still loading,
+	 *     then nothing is drawn.
+	 * </p>
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 * @param blendMode The blend mode.
+	 * @param flipped Whether to mirror the frame horizontally, in place.
+	 *
+	 * @see Animation#setNonBlockingDraw(boolean)
+	 */
+	public void draw(final @NonNull Animation animation, final int x, final int y, final @NonNull BlendMode blendMode, final boolean flipped) {
+		final var clip = animation.getClip();
+		final var frameIndex = animation.getFrameIndex();
+		final var frame = clip.frames[frameIndex];
+
+		if (clip.frameImages != null) {
+			blit(clip.getPremultipliedFrameImage(frameIndex), 0, 0, frame.width(), frame.height(), x, y, blendMode, flipped);
+			return;
+		}
+
+		final var sheet = Animation.getSheet(clip.getSpriteName());
+		if (sheet == null) {
+			return;
+		}
+
+		// Only the untrimmed part of a frame which was trimmed into an atlas exists in the sheet.
+		var left = 0;
+		var top = 0;
+		var right = frame.width();
+		var bottom = frame.height();
+
+		final var trims = clip.trims;
+		if (trims != null) {
+			final var offset = frameIndex * 4;
+			left = trims[offset];
+			top = trims[offset + 1];
+			right -= trims[offset + 2];
+			bottom -= trims[offset + 3];
+		}
+
+		blit(
+			sheet.getPremultipliedImage(),
+			frame.x() + left,
+			frame.y() + top,
+			right - left,
+			bottom - top,
+			x + (flipped ? frame.width() - right : left),
+			y + top,
+			blendMode,
+			flipped
+		);
+	}
+
+	/**
+	 * Draws a region of an image.
+	 *
+	 * <p>
+	 *     Images which are not {@link BufferedImage#TYPE_INT_ARGB_PRE} images
+	 *     are converted on every call.
+	 * </p>
+	 *
+	 * @param image The image.
+	 * @param sourceX The x-axis position of the region's top-left pixel, within the image.
+	 * @param sourceY The y-axis position of the region's top-left pixel, within the image.
+	 * @param width The width of the region.
+	 * @param height The height of the region.
+	 * @param x The x-axis position at which to draw the region.
+	 * @param y The y-axis position at which to draw the region.
+	 * @param blendMode The blend mode.
+	 * @param flipped Whether to mirror the region horizontally, in place.
+	 *
+	 * @throws IllegalArgumentException If the region is not within the image.
+	 */
+	public void blit(final @NonNull BufferedImage image, final int sourceX, final int sourceY, final int width, final int height, final int x, final int y, final @NonNull BlendMode blendMode, final boolean flipped) {
+		if (sourceX < 0 || sourceY < 0 || width < 0 || height < 0 || sourceX + width > image.getWidth() || sourceY + height > image.getHeight()) {
+			throw new IllegalArgumentException("The region (" + sourceX + ", " + sourceY + ", " + width + ", " + height + ") is not within the " + image.getWidth() + "x" + image.getHeight() + " image.");
+		}
+
+		final var source = RasterFormat.PREMULTIPLIED.convert(image);
+		final var raster = source.getRaster();
+		final var sampleModel = (SinglePixelPackedSampleModel) raster.getSampleModel();
+		final var dataBuffer = (DataBufferInt) raster.getDataBuffer();
+		final var stride = sampleModel.getScanlineStride();
+
+		// Sub-images share the raster of their parent, offset by the translation of their sample model.
+		final var origin = dataBuffer.getOffset() - raster.getSampleModelTranslateY() * stride - raster.getSampleModelTranslateX();
+
+		blit(dataBuffer.getData(), origin + sourceY * stride + sourceX, stride, width, height, x, y, blendMode, flipped);
+	}
+
+	/**
+	 * Draws a region of an array of premultiplied ARGB pixels.
+	 *
+	 * @param source The pixels.
+	 * @param sourceOffset Index of the region's top-left pixel.
+	 * @param sourceStride The distance between vertically adjacent pixels.
+	 * @param width The width of the region.
+	 * @param height The height of the region.
+	 * @param x The x-axis position at which to draw the region.
+	 * @param y The y-axis position at which to draw the region.
+	 * @param blendMode The blend mode.
+	 * @param flipped Whether to mirror the region horizontally, in place.
+	 */
+	void blit(final int[] source, final int sourceOffset, final int sourceStride, final int width, final int height, final int x, final int y, final BlendMode blendMode, final boolean flipped) {
+		final var left = Math.max(x, clipLeft);
+		final var top = Math.max(y, clipTop);
+		final var right = Math.min(x + width, clipRight);
+		final var bottom = Math.min(y + height, clipBottom);
+		if (left >= right || top >= bottom) {
+			return;
+		}
+
+		final var columns = right - left;
+
+		// When flipped, the left-most drawn pixel comes from the right-most clipped column of the region.
+		final var firstColumn = flipped ? x + width - 1 - left : left - x;
+		final var step = flipped ? -1 : 1;
+
+		var sourceIndex = sourceOffset + (top - y) * sourceStride + firstColumn;
+		var targetIndex = top * this.width + left;
+
+		for (int row = top ; row < bottom ; row++) {
+			switch (blendMode) {
+				case OPAQUE -> {
+					if (flipped) {
+						copyFlipped(source, sourceIndex, pixels, targetIndex, columns);
+					} else {
+						System.arraycopy(source, sourceIndex, pixels, targetIndex, columns);
+					}
+				}
+				case ALPHA_TEST -> alphaTest(source, sourceIndex, step, pixels, targetIndex, columns);
+				case SRC_OVER -> srcOver(source, sourceIndex, step, pixels, targetIndex, columns);
+			}
+
+			sourceIndex += sourceStride;
+			targetIndex += this.width;
+		}
+	}
+
+	/**
+	 * Copies a row of pixels, in reverse order.
+	 *
+	 * @param source The source pixels.
+	 * @param sourceIndex Index of the first source pixel, which is copied to the first target pixel.
+	 * @param target The target pixels.
+	 * @param targetIndex Index of the first target pixel.
+	 * @param length The number of pixels.
+	 */
+	private static void copyFlipped(final int[] source, final int sourceIndex, final int[] target, final int targetIndex, final int length) {
+		for (int i = 0 ; i < length ; i++) {
+			target[targetIndex + i] = source[sourceIndex - i];
+		}
+	}
+
+	/**
+	 * Copies the pixels of a row which have an alpha of at least 128.
+	 *
+	 * @param source The source pixels.
+	 * @param sourceIndex Index of the first source pixel.
+	 * @param step The distance between consecutive source pixels.
+	 * @param target The target pixels.
+	 * @param targetIndex Index of the first target pixel.
+	 * @param length The number of pixels.
+	 */
+	private static void alphaTest(final int[] source, int sourceIndex, final int step, final int[] target, final int targetIndex, final int length) {
+		for (int i = 0 ; i < length ; i++, sourceIndex += step) {
+			final var pixel = source[sourceIndex];
+
+			if (pixel < 0) {
+				target[targetIndex + i] = pixel;
+			}
+		}
+	}
+
+	/**
+	 * Composites a row of premultiplied pixels over the target's pixels.
+	 *
+	 * @param source The source pixels.
+	 * @param sourceIndex Index of the first source pixel.
+	 * @param step The distance between consecutive source pixels.
+	 * @param target The target pixels.
+	 * @param targetIndex Index of the first target pixel.
+	 * @param length The number of pixels.
+	 */
+	private static void srcOver(final int[] source, int sourceIndex, final int step, final int[] target, final int targetIndex, final int length) {
+		for (int i = 0 ; i < length ; i++, sourceIndex += step) {
+			final var pixel = source[sourceIndex];
+			final var alpha = pixel >>> 24;
+
+			if (alpha == 0xFF) {
+				target[targetIndex + i] = pixel;
+			} else if (alpha != 0) {
+				final var inverseAlpha = 0xFF - alpha;
+				final var destination = target[targetIndex + i];
+
+				// Scales two 8-bit channels at once, dividing each by 255 with rounding.
+				var redBlue = (destination & 0x00FF00FF) * inverseAlpha + 0x00800080;
+				redBlue = ((redBlue + ((redBlue >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+
+				var alphaGreen = ((destination >>> 8) & 0x00FF00FF) * inverseAlpha + 0x00800080;
+				alphaGreen = (alphaGreen + ((alphaGreen >>> 8) & 0x00FF00FF)) & 0xFF00FF00;
+
+				target[targetIndex + i] = pixel + (alphaGreen | redBlue);
+			}
+		}
+	}
+}
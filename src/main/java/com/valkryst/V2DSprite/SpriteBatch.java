@@ -0,0 +1,246 @@
+package com.valkryst.V2DSprite;
+
+import lombok.NonNull;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Draws many {@link Animation}s at once.</p>
+ *
+ * <p>
+ *     Animations are submitted, with a position, an optional transform, and a
+ *     z-order, then drawn together by {@link #flush(Graphics2D)}. Before
+ *     drawing, submissions are sorted by z-order and then by sprite sheet, so
+ *     each sheet is resolved once per run of submissions. Transformed
+ *     submissions are drawn from frames which are pre-rendered with their
+ *     transform and cached, so neither the graphics context's transform nor
+ *     its clip is ever changed.
+ * </p>
+ *
+ * <p>
+ *     Submissions with a lower z-order are drawn first. The order in which
+ *     submissions with the same z-order are drawn is unspecified, so
+ *     overlapping animations should be given different z-orders.
+ * </p>
+ *
+ * <pre>{@code
+ * for (final var mob : mobs) {
+ *     batch.submit(mob.getAnimation(), mob.getX(), mob.getY(), mob.getZ());
+ * }
+ *
+ * batch.flush(gc);
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public class SpriteBatch {
+	/** The number of bits of a sort key used to store a submission's index. */
+	private final static int INDEX_BITS = 21;
+
+	/** The number of bits of a sort key used to store a sheet's id. */
+	private final static int SHEET_BITS = 32 - INDEX_BITS;
+
+	/** The maximum number of submissions between flushes. */
+	private final static int MAXIMUM_SIZE = 1 << INDEX_BITS;
+
+	/** The sheet id of each sprite name, or atlas name, assigned during a flush. */
+	private final Map<String, Integer> sheetIds = new HashMap<>();
+
+	/** The animation of each submission. */
+	private Animation[] animations;
+
+	/** The x-axis position of each submission. */
+	private int[] xs;
+
+	/** The y-axis position of each submission. */
+	private int[] ys;
+
+	/** The z-order of each submission. */
+	private int[] zs;
+
+	/** The transform of each submission, or null if it has none. */
+	private AffineTransform[] transforms;
+
+	/** The sort key of each submission, computed during a flush. */
+	private long[] sortKeys;
+
+	/** The number of submissions. */
+	private int size = 0;
+
+	/** Constructs a new {@code SpriteBatch}. */
+	public SpriteBatch() {
+		this(256);
+	}
+
+	/**
+	 * Constructs a new {@code SpriteBatch}.
+	 *
+	 * @param initialCapacity
+	 * 			The number of submissions for which to allocate space.
+	 */
+	public SpriteBatch(final int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException("The initial capacity must be at least 1. It is currently " + initialCapacity + ".");
+		}
+
+		animations = new Animation[initialCapacity];
+		xs = new int[initialCapacity];
+		ys = new int[initialCapacity];
+		zs = new int[initialCapacity];
+		transforms = new AffineTransform[initialCapacity];
+		sortKeys = new long[initialCapacity];
+	}
+
+	/**
+	 * Submits the current frame of an animation to be drawn, with a z-order
+	 * of zero.
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 */
+	public void submit(final @NonNull Animation animation, final int x, final int y) {
+		submit(animation, x, y, null, 0);
+	}
+
+	/**
+	 * Submits the current frame of an animation to be drawn.
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 * @param z The z-order of the frame.
+	 */
+	public void submit(final @NonNull Animation animation, final int x, final int y, final int z) {
+		submit(animation, x, y, null, z);
+	}
+
+	/**
+	 * Submits the current frame of an animation to be drawn.
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 *
+	 * @param transform
+	 * 			The transform to apply to the frame, relative to its top-left
+	 * 			pixel, or null if no transform is required. For example,
+	 * 			{@code new AffineTransform(-1, 0, 0, 1, width, 0)} mirrors the
+	 * 			frame horizontally in place. The transform must not be modified
+	 * 			before the batch is flushed.
+	 *
+	 * @param z The z-order of the frame.
+	 */
+	public void submit(final @NonNull Animation animation, final int x, final int y, final AffineTransform transform, final int z) {
+		if (size == animations.length) {
+			if (size == MAXIMUM_SIZE) {
+				throw new IllegalStateException("A batch cannot hold more than " + MAXIMUM_SIZE + " submissions.");
+			}
+
+			grow();
+		}
+
+		animations[size] = animation;
+		xs[size] = x;
+		ys[size] = y;
+		zs[size] = z;
+		transforms[size] = transform == null || transform.isIdentity() ? null : transform;
+		size++;
+	}
+
+	/** Grows the submission arrays to hold twice as many submissions. */
+	private void grow() {
+		final var capacity = Math.min(animations.length * 2, MAXIMUM_SIZE);
+		animations = Arrays.copyOf(animations, capacity);
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		zs = Arrays.copyOf(zs, capacity);
+		transforms = Arrays.copyOf(transforms, capacity);
+		sortKeys = Arrays.copyOf(sortKeys, capacity);
+	}
+
+	/**
+	 * Draws all submissions, then removes them from the batch.
+	 *
+	 * @param gc The graphics context to draw on.
+	 */
+	public void flush(final @NonNull Graphics2D gc) {
+		if (size == 0) {
+			return;
+		}
+
+		sort();
+
+		// The sprite, and the atlas if the sprite was installed into one, whose sheet was last resolved.
+		String spriteName = null;
+		String atlasName = null;
+		Image sheetImage = null;
+
+		for (int i = 0 ; i < size ; i++) {
+			final var index = (int) (sortKeys[i] & (MAXIMUM_SIZE - 1));
+			final var clip = animations[index].getClip();
+			final var frameIndex = animations[index].getFrameIndex();
+
+			if (clip.frameImages == null && !clip.getSpriteName().equals(spriteName)) {
+				// Clips installed into the same atlas are drawn from the same sheet, so it is not resolved again.
+				final var clipAtlasName = clip.originalClip == null ? null : AtlasBuilder.getAtlasName(clip.getSpriteName());
+
+				if (clipAtlasName == null || !clipAtlasName.equals(atlasName)) {
+					atlasName = clipAtlasName;
+					sheetImage = Animation.getSheetImage(clip.getSpriteName());
+				}
+
+				spriteName = clip.getSpriteName();
+			}
+
+			final var transform = transforms[index];
+			if (transform == null) {
+				Animation.drawFrame(gc, clip, frameIndex, sheetImage, xs[index], ys[index]);
+			} else {
+				TransformedFrame.draw(gc, clip, frameIndex, sheetImage, xs[index], ys[index], transform);
+			}
+		}
+
+		clear();
+	}
+
+	/** Computes and sorts the sort key of each submission. */
+	private void sort() {
+		for (int i = 0 ; i < size ; i++) {
+			// Sprites which share an atlas share a sheet id, so that they are drawn together.
+			final var sheetName = AtlasBuilder.getAtlasName(animations[i].getClip().getSpriteName());
+
+			var sheetId = sheetIds.get(sheetName);
+			if (sheetId == null) {
+				sheetId = sheetIds.size() & ((1 << SHEET_BITS) - 1);
+				sheetIds.put(sheetName, sheetId);
+			}
+
+			// The z-order is sign-extended, so that negative z-orders sort before positive ones.
+			sortKeys[i] = ((long) zs[i] << 32) | ((long) sheetId << INDEX_BITS) | i;
+		}
+
+		sheetIds.clear();
+		Arrays.sort(sortKeys, 0, size);
+	}
+
+	/** Removes all submissions from the batch, without drawing them. */
+	public void clear() {
+		Arrays.fill(animations, 0, size, null);
+		Arrays.fill(transforms, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Retrieves the number of submissions in the batch.
+	 *
+	 * @return The number of submissions.
+	 */
+	public int size() {
+		return size;
+	}
+}
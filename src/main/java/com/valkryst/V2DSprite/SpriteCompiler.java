@@ -0,0 +1,340 @@
+package com.valkryst.V2DSprite;
+
+import lombok.NonNull;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.zip.DataFormatException;
+
+/**
+ * <p>
+ *     Validates a {@code sprites} folder, in the layout described by the
+ *     README, and compiles it into a {@code .v2dpack} file which can be
+ *     mounted with {@link SpritePack#mount(Path)}.
+ * </p>
+ *
+ * <p>
+ *     Every problem in the folder is reported at once, so that a build can
+ *     fail with a complete list of malformed assets. Each animation is
+ *     checked for:
+ * </p>
+ *
+ * <ul>
+ *     <li>A {@code _frame.tsv} file with at least one frame.</li>
+ *     <li>
+ *         {@code _collisionbox.tsv} and {@code _hitbox.tsv} files which are
+ *         either empty, or have one row per frame.
+ *     </li>
+ *     <li>Frames with a positive size, which lie within the sprite sheet.</li>
+ *     <li>Frames with non-negative durations, which do not all sum to zero.</li>
+ * </ul>
+ *
+ * <p>
+ *     Usage: {@code SpriteCompiler <sprites folder> <output file> [--compress]},
+ *     or {@code SpriteCompiler --index <sprites folder>} to write the folder's
+ *     {@link SpriteIndex}.
+ * </p>
+ */
+public final class SpriteCompiler {
+	/** The suffix of the files which define the frames of an animation. */
+	private final static String FRAME_SUFFIX = "_frame.tsv";
+
+	/** The suffixes of the files which define the boxes of an animation. */
+	private final static String[] BOX_SUFFIXES = { "_collisionbox.tsv", "_hitbox.tsv" };
+
+	private SpriteCompiler() {}
+
+	/**
+	 * Compiles a {@code sprites} folder from the command line.
+	 *
+	 * <p>The process exits with a status of 1 if the folder is invalid, or if an I/O error occurs.</p>
+	 *
+	 * @param args
+	 * 			The path of the folder, the path of the pack to write, and
+	 * 			optionally {@code --compress}. Alternatively, {@code --index} and
+	 * 			the path of the folder.
+	 */
+	public static void main(final String[] args) {
+		if (args.length == 2 && args[0].equals("--index")) {
+			try {
+				SpriteIndex.generateAndWrite(Path.of(args[1]));
+				System.out.println("Wrote the index of '" + args[1] + "'.");
+			} catch (final IOException e) {
+				System.err.println(e.getMessage());
+				System.exit(1);
+			}
+			return;
+		}
+
+		if (args.length < 2 || args.length > 3 || (args.length == 3 && !args[2].equals("--compress"))) {
+			System.err.println("Usage: SpriteCompiler <sprites folder> <output file> [--compress]");
+			System.err.println("       SpriteCompiler --index <sprites folder>");
+			System.exit(1);
+			return;
+		}
+
+		try {
+			final var spriteCount = compile(Path.of(args[0]), Path.of(args[1]), args.length == 3);
+			System.out.println("Compiled " + spriteCount + " sprites into '" + args[1] + "'.");
+		} catch (final IOException | DataFormatException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Validates a {@code sprites} folder, then compiles it into a pack.
+	 *
+	 * @param spritesDirectory The folder, whose subfolders each contain one sprite.
+	 * @param outputFile The path of the pack to write. Any existing file is overwritten.
+	 * @param compressed Whether to deflate the pixels of each sheet.
+	 *
+	 * @return The number of sprites in the pack.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 * @throws DataFormatException If the folder contains any malformed assets. The message lists every problem.
+	 */
+	public static int compile(final @NonNull Path spritesDirectory, final @NonNull Path outputFile, final boolean compressed) throws IOException, DataFormatException {
+		final var writer = new SpritePackWriter();
+		writer.setCompressed(compressed);
+
+		final var problems = new ArrayList<String>();
+		final var spriteCount = read(spritesDirectory, writer, problems);
+
+		if (!problems.isEmpty()) {
+			throw new DataFormatException("Found " + problems.size() + " problem(s) in '" + spritesDirectory + "':\n\t" + String.join("\n\t", problems));
+		}
+
+		writer.write(outputFile);
+		return spriteCount;
+	}
+
+	/**
+	 * Validates a {@code sprites} folder, without compiling it.
+	 *
+	 * @param spritesDirectory The folder, whose subfolders each contain one sprite.
+	 *
+	 * @return A description of each problem, or an empty list if the folder is valid.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static List<String> validate(final @NonNull Path spritesDirectory) throws IOException {
+		final var problems = new ArrayList<String>();
+		read(spritesDirectory, new SpritePackWriter(), problems);
+		return problems;
+	}
+
+	/**
+	 * Reads and validates every sprite in a {@code sprites} folder.
+	 *
+	 * @param spritesDirectory The folder.
+	 * @param writer The writer to add valid sprites to.
+	 * @param problems The list to add problems to.
+	 *
+	 * @return The number of sprites read.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static int read(final Path spritesDirectory, final SpritePackWriter writer, final List<String> problems) throws IOException {
+		if (!Files.isDirectory(spritesDirectory)) {
+			throw new IOException("The sprites folder '" + spritesDirectory + "' does not exist.");
+		}
+
+		final var spriteDirectories = new ArrayList<Path>();
+		try (final var stream = Files.list(spritesDirectory)) {
+			stream.filter(Files::isDirectory).sorted().forEach(spriteDirectories::add);
+		}
+
+		for (final var spriteDirectory : spriteDirectories) {
+			readSprite(spriteDirectory, writer, problems);
+		}
+
+		return spriteDirectories.size();
+	}
+
+	/**
+	 * Reads and validates a sprite folder.
+	 *
+	 * @param spriteDirectory The folder.
+	 * @param writer The writer to add the sprite to.
+	 * @param problems The list to add problems to.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static void readSprite(final Path spriteDirectory, final SpritePackWriter writer, final List<String> problems) throws IOException {
+		final var spriteName = spriteDirectory.getFileName().toString();
+
+		final var image = readImage(spriteDirectory, problems);
+		if (image != null) {
+			writer.addSheet(spriteName, image);
+		}
+
+		final var animationsDirectory = spriteDirectory.resolve("animations");
+		if (!Files.isDirectory(animationsDirectory)) {
+			problems.add("'" + spriteDirectory + "' does not contain an animations folder.");
+			return;
+		}
+
+		final var animationNames = new TreeSet<String>();
+		try (final var stream = Files.list(animationsDirectory)) {
+			for (final var file : (Iterable<Path>) stream::iterator) {
+				final var fileName = file.getFileName().toString();
+
+				if (fileName.endsWith(FRAME_SUFFIX)) {
+					animationNames.add(fileName.substring(0, fileName.length() - FRAME_SUFFIX.length()));
+					continue;
+				}
+
+				for (final var suffix : BOX_SUFFIXES) {
+					if (!fileName.endsWith(suffix)) {
+						continue;
+					}
+
+					final var frameFileName = fileName.substring(0, fileName.length() - suffix.length()) + FRAME_SUFFIX;
+					if (!Files.exists(animationsDirectory.resolve(frameFileName))) {
+						problems.add("'" + file + "' has no corresponding '" + frameFileName + "'.");
+					}
+				}
+			}
+		}
+
+		for (final var animationName : animationNames) {
+			final var clip = readClip(animationsDirectory, spriteName, animationName, image, problems);
+			if (clip != null) {
+				writer.addClip(clip);
+			}
+		}
+	}
+
+	/**
+	 * Reads the sheet image of a sprite folder.
+	 *
+	 * @param spriteDirectory The folder.
+	 * @param problems The list to add problems to.
+	 *
+	 * @return The image, or null if it could not be read.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static BufferedImage readImage(final Path spriteDirectory, final List<String> problems) throws IOException {
+		try (final var stream = Files.list(spriteDirectory)) {
+			final var imageFiles = stream.filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).startsWith("image."))
+										 .sorted()
+										 .toList();
+
+			if (imageFiles.size() != 1) {
+				problems.add("'" + spriteDirectory + "' must contain exactly one image file, but contains " + imageFiles.size() + ".");
+				return null;
+			}
+
+			final var image = ImageIO.read(imageFiles.get(0).toFile());
+			if (image == null) {
+				problems.add("'" + imageFiles.get(0) + "' is not in a supported image format.");
+			}
+
+			return image;
+		}
+	}
+
+	/**
+	 * Reads and validates the tables of an animation.
+	 *
+	 * @param animationsDirectory The animations folder of the sprite.
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 * @param image The sheet image of the sprite, or null if it could not be read.
+	 * @param problems The list to add problems to.
+	 *
+	 * @return The clip, or null if the animation is invalid.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static AnimationClip readClip(final Path animationsDirectory, final String spriteName, final String animationName, final BufferedImage image, final List<String> problems) throws IOException {
+		final var problemCount = problems.size();
+
+		final var frameFile = animationsDirectory.resolve(animationName + FRAME_SUFFIX);
+		final var frameData = readTable(frameFile, 5, problems);
+		final var collisionBoxData = readTable(animationsDirectory.resolve(animationName + BOX_SUFFIXES[0]), 4, problems);
+		final var hitboxData = readTable(animationsDirectory.resolve(animationName + BOX_SUFFIXES[1]), 4, problems);
+
+		if (frameData == null) {
+			return null;
+		}
+
+		final var frameCount = frameData.length / 5;
+		if (frameCount == 0) {
+			problems.add("'" + frameFile + "' does not define any frames.");
+		}
+
+		if (collisionBoxData != null && collisionBoxData.length != 0 && collisionBoxData.length / 4 != frameCount) {
+			problems.add("'" + animationsDirectory.resolve(animationName + BOX_SUFFIXES[0]) + "' has " + collisionBoxData.length / 4 + " rows, but there are " + frameCount + " frames.");
+		}
+
+		if (hitboxData != null && hitboxData.length != 0 && hitboxData.length / 4 != frameCount) {
+			problems.add("'" + animationsDirectory.resolve(animationName + BOX_SUFFIXES[1]) + "' has " + hitboxData.length / 4 + " rows, but there are " + frameCount + " frames.");
+		}
+
+		long totalDuration = 0;
+		for (int i = 0 ; i < frameCount ; i++) {
+			final var offset = i * 5;
+			final var x = frameData[offset];
+			final var y = frameData[offset + 1];
+			final var width = frameData[offset + 2];
+			final var height = frameData[offset + 3];
+			final var duration = frameData[offset + 4];
+
+			if (width <= 0 || height <= 0) {
+				problems.add("Line " + (i + 1) + " of '" + frameFile + "' has a non-positive size.");
+			} else if (image != null && (x < 0 || y < 0 || (long) x + width > image.getWidth() || (long) y + height > image.getHeight())) {
+				problems.add("Line " + (i + 1) + " of '" + frameFile + "' lies outside of the " + image.getWidth() + "x" + image.getHeight() + " sprite sheet.");
+			}
+
+			if (duration < 0) {
+				problems.add("Line " + (i + 1) + " of '" + frameFile + "' has a negative duration.");
+			}
+
+			totalDuration += Math.max(0, duration);
+		}
+
+		if (frameCount != 0 && totalDuration == 0) {
+			problems.add("The frames of '" + frameFile + "' have a total duration of zero.");
+		}
+
+		if (problems.size() != problemCount) {
+			return null;
+		}
+
+		return AnimationClip.fromTables(spriteName, animationName, frameData, collisionBoxData, hitboxData);
+	}
+
+	/**
+	 * Reads a table of integers.
+	 *
+	 * @param file The file to read.
+	 * @param columns The number of columns on each line.
+	 * @param problems The list to add problems to.
+	 *
+	 * @return The values, or null if the file does not exist or is malformed.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static int[] readTable(final Path file, final int columns, final List<String> problems) throws IOException {
+		if (!Files.exists(file)) {
+			return null;
+		}
+
+		try (final var inputStream = Files.newInputStream(file)) {
+			return TsvParser.parse(inputStream, file.toString(), columns, '\t');
+		} catch (final DataFormatException e) {
+			problems.add(e.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,386 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.source.SpriteSource;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import lombok.NonNull;
+import org.ini4j.Ini;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ *     A manifest of every sprite in a {@link SpriteSource}, stored as
+ *     {@code index.ini} in the root of the source.
+ * </p>
+ *
+ * <p>
+ *     When a sprite is listed in the index of the current source,
+ *     {@link SpriteSheet} opens its image directly, instead of probing for
+ *     each supported format, and {@link AnimationClip} only opens the tables
+ *     which the index says exist. Sprites which are not listed are loaded as
+ *     though there were no index.
+ * </p>
+ *
+ * <p>
+ *     The index can be generated from a {@code sprites} folder with
+ *     {@link #generate(Path)}, or with
+ *     {@code SpriteCompiler --index <sprites folder>}.
+ * </p>
+ *
+ * <pre>
+ * [hero]
+ * image = png
+ * width = 256
+ * height = 128
+ * animation.idle = frame,collisionbox,hitbox
+ * animation.walk = frame
+ * </pre>
+ */
+public final class SpriteIndex {
+	/** The path of the index, relative to the root of a source. */
+	public final static String PATH = "index.ini";
+
+	/** The prefix of the keys which list a sprite's animations. */
+	private final static String ANIMATION_PREFIX = "animation.";
+
+	/** The index of the source it was last loaded from, or null if none has been loaded. */
+	private static volatile LoadedIndex loadedIndex;
+
+	/** The entry of each sprite, sorted by name. */
+	private final Map<String, Entry> entries;
+
+	/**
+	 * Constructs a new {@code SpriteIndex}.
+	 *
+	 * @param entries The entry of each sprite.
+	 */
+	private SpriteIndex(final Map<String, Entry> entries) {
+		this.entries = Collections.unmodifiableMap(new TreeMap<>(entries));
+	}
+
+	/**
+	 * Retrieves the index of the current {@link SpriteSources#getSource() source}.
+	 *
+	 * <p>The index is read once per source, then reused.</p>
+	 *
+	 * @return The index, or null if the source does not have one.
+	 *
+	 * @throws IOException If an I/O error occurs, or if the index is malformed.
+	 */
+	public static SpriteIndex getCurrent() throws IOException {
+		final var source = SpriteSources.getSource();
+
+		var loaded = loadedIndex;
+		if (loaded == null || loaded.source() != source) {
+			loaded = new LoadedIndex(source, read(source));
+			loadedIndex = loaded;
+		}
+
+		return loaded.index();
+	}
+
+	/**
+	 * Discards the index of the current source, so that it is read again
+	 * when next used. This is done by
+	 * {@link SpriteSources#setSource(SpriteSource)}.
+	 */
+	public static void invalidateCurrent() {
+		loadedIndex = null;
+	}
+
+	/**
+	 * Reads the index of a source.
+	 *
+	 * @param source The source.
+	 *
+	 * @return The index, or null if the source does not have one.
+	 *
+	 * @throws IOException If an I/O error occurs, or if the index is malformed.
+	 */
+	public static SpriteIndex read(final @NonNull SpriteSource source) throws IOException {
+		try (final var inputStream = source.open(PATH)) {
+			return inputStream == null ? null : read(inputStream);
+		}
+	}
+
+	/**
+	 * Reads an index from a stream.
+	 *
+	 * @param inputStream The stream.
+	 *
+	 * @return The index.
+	 *
+	 * @throws IOException If an I/O error occurs, or if the index is malformed.
+	 */
+	public static SpriteIndex read(final @NonNull InputStream inputStream) throws IOException {
+		final var ini = new Ini(inputStream);
+		final var entries = new LinkedHashMap<String, Entry>();
+
+		for (final var section : ini.values()) {
+			final var animations = new TreeMap<String, Set<String>>();
+			for (final var key : section.keySet()) {
+				if (key.startsWith(ANIMATION_PREFIX)) {
+					final var tables = new TreeSet<String>();
+					for (final var table : section.get(key).split(",")) {
+						if (!table.isBlank()) {
+							tables.add(table.strip().toLowerCase(Locale.ROOT));
+						}
+					}
+
+					animations.put(key.substring(ANIMATION_PREFIX.length()), Collections.unmodifiableSet(tables));
+				}
+			}
+
+			try {
+				entries.put(section.getName(), new Entry(
+					section.get("image"),
+					Integer.parseInt(section.getOrDefault("width", "0")),
+					Integer.parseInt(section.getOrDefault("height", "0")),
+					Collections.unmodifiableMap(animations)
+				));
+			} catch (final NumberFormatException e) {
+				throw new IOException("The dimensions of '" + section.getName() + "' in the sprite index are not integers.", e);
+			}
+		}
+
+		return new SpriteIndex(entries);
+	}
+
+	/**
+	 * Generates the index of a {@code sprites} folder, in the layout described
+	 * by the README.
+	 *
+	 * @param spritesDirectory The folder.
+	 *
+	 * @return The index.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static SpriteIndex generate(final @NonNull Path spritesDirectory) throws IOException {
+		final var entries = new LinkedHashMap<String, Entry>();
+
+		final List<Path> spriteDirectories;
+		try (final var stream = Files.list(spritesDirectory)) {
+			spriteDirectories = stream.filter(Files::isDirectory).sorted().toList();
+		}
+
+		for (final var spriteDirectory : spriteDirectories) {
+			String imageFormat = null;
+			int width = 0;
+			int height = 0;
+
+			try (final var stream = Files.list(spriteDirectory)) {
+				final var imageFile = stream.filter(file -> file.getFileName().toString().startsWith("image.")).sorted().findFirst();
+
+				if (imageFile.isPresent()) {
+					final var fileName = imageFile.get().getFileName().toString();
+					imageFormat = fileName.substring("image.".length());
+
+					final var image = ImageIO.read(imageFile.get().toFile());
+					if (image != null) {
+						width = image.getWidth();
+						height = image.getHeight();
+					}
+				}
+			}
+
+			final var animations = new TreeMap<String, Set<String>>();
+			final var animationsDirectory = spriteDirectory.resolve("animations");
+			if (Files.isDirectory(animationsDirectory)) {
+				try (final var stream = Files.list(animationsDirectory)) {
+					for (final var file : (Iterable<Path>) stream::iterator) {
+						final var fileName = file.getFileName().toString();
+						final var separator = fileName.lastIndexOf('_');
+						if (separator == -1 || !fileName.endsWith(".tsv")) {
+							continue;
+						}
+
+						final var table = fileName.substring(separator + 1, fileName.length() - ".tsv".length());
+						animations.computeIfAbsent(fileName.substring(0, separator), k -> new TreeSet<>()).add(table);
+					}
+				}
+			}
+
+			entries.put(spriteDirectory.getFileName().toString(), new Entry(imageFormat, width, height, animations));
+		}
+
+		return new SpriteIndex(entries);
+	}
+
+	/**
+	 * Writes the index.
+	 *
+	 * @param outputStream The stream to write to. It is not closed.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void write(final @NonNull OutputStream outputStream) throws IOException {
+		final var ini = new Ini();
+
+		entries.forEach((spriteName, entry) -> {
+			ini.add(spriteName);
+
+			if (entry.imageFormat() != null) {
+				ini.put(spriteName, "image", entry.imageFormat());
+				ini.put(spriteName, "width", entry.width());
+				ini.put(spriteName, "height", entry.height());
+			}
+
+			entry.animations().forEach((animationName, tables) -> {
+				ini.put(spriteName, ANIMATION_PREFIX + animationName, String.join(",", tables));
+			});
+		});
+
+		ini.store(outputStream);
+	}
+
+	/**
+	 * Retrieves the names of all sprites in the index.
+	 *
+	 * @return The names, sorted.
+	 */
+	public Set<String> getSpriteNames() {
+		return entries.keySet();
+	}
+
+	/**
+	 * Retrieves the names of all animations of every sprite in the index.
+	 *
+	 * <p>The result can be passed directly to {@link AnimationClip#preloadAsync(Map)}.</p>
+	 *
+	 * @return The names of each sprite's animations, sorted by sprite name.
+	 */
+	public Map<String, Set<String>> getAnimationNames() {
+		final var names = new LinkedHashMap<String, Set<String>>();
+		entries.forEach((spriteName, entry) -> names.put(spriteName, entry.animations().keySet()));
+		return Collections.unmodifiableMap(names);
+	}
+
+	/**
+	 * Retrieves the names of a sprite's animations.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The names, sorted, or an empty set if the sprite is not in the index.
+	 */
+	public Set<String> getAnimationNames(final @NonNull String spriteName) {
+		final var entry = entries.get(spriteName);
+		return entry == null ? Set.of() : entry.animations().keySet();
+	}
+
+	/**
+	 * Determines whether the index contains a sprite.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return Whether the index contains the sprite.
+	 */
+	public boolean contains(final @NonNull String spriteName) {
+		return entries.containsKey(spriteName);
+	}
+
+	/**
+	 * Determines whether the index contains an animation.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 *
+	 * @return Whether the index contains the animation.
+	 */
+	public boolean contains(final @NonNull String spriteName, final @NonNull String animationName) {
+		final var entry = entries.get(spriteName);
+		return entry != null && entry.animations().containsKey(animationName);
+	}
+
+	/**
+	 * Retrieves the format of a sprite's image, which is the extension of its
+	 * image file.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The format, such as {@code "png"}, or null if the sprite has no image or is not in the index.
+	 */
+	public String getImageFormat(final @NonNull String spriteName) {
+		final var entry = entries.get(spriteName);
+		return entry == null ? null : entry.imageFormat();
+	}
+
+	/**
+	 * Retrieves the dimensions of a sprite's image.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The dimensions, or null if the sprite has no image or is not in the index.
+	 */
+	public Dimension getImageSize(final @NonNull String spriteName) {
+		final var entry = entries.get(spriteName);
+		return entry == null || entry.imageFormat() == null ? null : new Dimension(entry.width(), entry.height());
+	}
+
+	/**
+	 * Determines whether an animation has a table of a type of data.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 * @param type The type of data, such as {@link Frame} or {@link Hitbox}.
+	 *
+	 * @return Whether the animation has the table.
+	 */
+	public boolean hasTable(final @NonNull String spriteName, final @NonNull String animationName, final @NonNull Class<?> type) {
+		final var entry = entries.get(spriteName);
+		if (entry == null) {
+			return false;
+		}
+
+		final var tables = entry.animations().get(animationName);
+		return tables != null && tables.contains(type.getSimpleName().toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Generates the index of a {@code sprites} folder and writes it to the
+	 * folder, as {@value #PATH}.
+	 *
+	 * @param spritesDirectory The folder.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static void generateAndWrite(final Path spritesDirectory) throws IOException {
+		final var index = generate(spritesDirectory);
+
+		try (final var outputStream = Files.newOutputStream(spritesDirectory.resolve(PATH))) {
+			index.write(outputStream);
+		}
+	}
+
+	/**
+	 * The indexed data of a sprite.
+	 *
+	 * @param imageFormat The extension of the image file, or null if there is no image.
+	 * @param width The width of the image.
+	 * @param height The height of the image.
+	 * @param animations The tables of each animation.
+	 */
+	private record Entry(String imageFormat, int width, int height, Map<String, Set<String>> animations) {}
+
+	/**
+	 * An index, and the source it was read from.
+	 *
+	 * @param source The source.
+	 * @param index The index, or null if the source does not have one.
+	 */
+	private record LoadedIndex(SpriteSource source, SpriteIndex index) {}
+}
@@ -0,0 +1,384 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * <p>A memory-mapped {@code .v2dpack} file, written by {@link SpritePackWriter}.</p>
+ *
+ * <p>
+ *     A pack holds the sheet image and animation tables of many sprites.
+ *     While a pack is {@link #mount(Path) mounted}, {@link SpriteSheet} and
+ *     {@link AnimationClip} load the sprites it contains from the pack,
+ *     instead of from the {@code /sprites/<name>} resources of the JAR. Packs
+ *     are searched in the reverse order of mounting, so a pack overrides any
+ *     packs mounted before it.
+ * </p>
+ *
+ * <p>
+ *     Opening a pack only reads the directory of sprites and animations. The
+ *     tables of an animation are read from the mapped file, in bulk, when the
+ *     animation is loaded. A sheet's pixels are stored as decoded
+ *     {@code TYPE_INT_ARGB} data, optionally deflated, so they are copied
+ *     directly into the image's raster without any PNG decoding.
+ * </p>
+ *
+ * <pre>{@code
+ * SpritePack.mount(Path.of("sprites.v2dpack"));
+ *
+ * var animation = new Animation("hero", "walk"); // Loaded from the pack.
+ * }</pre>
+ *
+ * <h2>Format</h2>
+ *
+ * <p>All values are big-endian.</p>
+ *
+ * <pre>
+ * int    magic ("V2DP")
+ * int    version
+ * int    sprite count
+ * for each sprite:
+ *     string name
+ *     byte   encoding (0 = no sheet, 1 = raw, 2 = deflated)
+ *     if encoding is not 0:
+ *         int  width
+ *         int  height
+ *         int  length of pixel data, in bytes
+ *         byte pixel data (width * height ARGB ints, deflated if encoding is 2)
+ *     int    animation count
+ *     for each animation:
+ *         string name
+ *         int    frame count, collision box count, hitbox count
+ *         int    frame values (5 per frame), collision box values (4 per box), hitbox values (4 per box)
+ *
+ * string: unsigned short length, followed by that many bytes of UTF-8
+ * </pre>
+ */
+public final class SpritePack implements Closeable {
+	/** The first four bytes of every pack. */
+	final static int MAGIC = 0x56324450;
+
+	/** The version of the format. */
+	final static int VERSION = 1;
+
+	/** Encoding of a sprite without a sheet image. */
+	final static byte ENCODING_NONE = 0;
+
+	/** Encoding of a sheet image stored as raw ARGB ints. */
+	final static byte ENCODING_RAW = 1;
+
+	/** Encoding of a sheet image stored as deflated ARGB ints. */
+	final static byte ENCODING_DEFLATED = 2;
+
+	/** The mounted packs, in the order in which they were mounted. */
+	private final static List<SpritePack> MOUNTED = new CopyOnWriteArrayList<>();
+
+	/** The path of the pack. */
+	@Getter private final Path path;
+
+	/** The mapped contents of the pack. */
+	private final ByteBuffer buffer;
+
+	/** The offset of each sprite's sheet encoding byte within the pack. */
+	private final Map<String, Integer> sheetOffsets = new HashMap<>();
+
+	/** The offset of each animation's table counts within the pack, by sprite name. */
+	private final Map<String, Map<String, Integer>> animationOffsets = new HashMap<>();
+
+	/**
+	 * Constructs a new {@code SpritePack}.
+	 *
+	 * @param path The path of the pack.
+	 *
+	 * @throws IOException If an I/O error occurs, or if the file is not a valid pack.
+	 */
+	private SpritePack(final Path path) throws IOException {
+		this.path = path;
+
+		try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("The pack '" + path + "' is larger than 2 GiB.");
+			}
+
+			// The mapping remains valid after the channel is closed.
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try {
+			readDirectory();
+		} catch (final RuntimeException e) {
+			throw new IOException("The pack '" + path + "' is corrupt.", e);
+		}
+	}
+
+	/**
+	 * Reads the directory of sprites and animations, skipping over all
+	 * pixel data and tables.
+	 *
+	 * @throws IOException If the file is not a valid pack.
+	 */
+	private void readDirectory() throws IOException {
+		final var reader = buffer.duplicate();
+
+		if (reader.getInt() != MAGIC) {
+			throw new IOException("The file '" + path + "' is not a sprite pack.");
+		}
+
+		final var version = reader.getInt();
+		if (version != VERSION) {
+			throw new IOException("The pack '" + path + "' has version " + version + ", but only version " + VERSION + " is supported.");
+		}
+
+		final var spriteCount = reader.getInt();
+		for (int i = 0 ; i < spriteCount ; i++) {
+			final var spriteName = readString(reader);
+
+			sheetOffsets.put(spriteName, reader.position());
+			if (reader.get() != ENCODING_NONE) {
+				reader.position(reader.position() + 8);
+				final var length = reader.getInt();
+				reader.position(reader.position() + length);
+			}
+
+			final var animations = new HashMap<String, Integer>();
+			final var animationCount = reader.getInt();
+			for (int j = 0 ; j < animationCount ; j++) {
+				final var animationName = readString(reader);
+				animations.put(animationName, reader.position());
+
+				final var valueCount = reader.getInt() * 5 + reader.getInt() * 4 + reader.getInt() * 4;
+				reader.position(reader.position() + valueCount * Integer.BYTES);
+			}
+
+			animationOffsets.put(spriteName, Collections.unmodifiableMap(animations));
+		}
+	}
+
+	/**
+	 * Opens a pack, then mounts it so that sprites are loaded from it.
+	 *
+	 * <p>
+	 *     Any unpinned sprites already in memory are evicted from the
+	 *     {@link AssetCache}, so that they are loaded from the pack when next
+	 *     used. Pinned sprites, such as those installed by an
+	 *     {@link AtlasBuilder}, are kept.
+	 * </p>
+	 *
+	 * @param path The path of the pack.
+	 *
+	 * @return The pack.
+	 *
+	 * @throws IOException If an I/O error occurs, or if the file is not a valid pack.
+	 */
+	public static SpritePack mount(final @NonNull Path path) throws IOException {
+		final var pack = new SpritePack(path);
+		MOUNTED.add(pack);
+		AssetCache.invalidateUnpinned();
+		return pack;
+	}
+
+	/**
+	 * Opens a pack without mounting it.
+	 *
+	 * @param path The path of the pack.
+	 *
+	 * @return The pack.
+	 *
+	 * @throws IOException If an I/O error occurs, or if the file is not a valid pack.
+	 */
+	public static SpritePack open(final @NonNull Path path) throws IOException {
+		return new SpritePack(path);
+	}
+
+	/**
+	 * Unmounts the pack, if it is mounted. Any unpinned sprites already in
+	 * memory are evicted from the {@link AssetCache}.
+	 */
+	@Override
+	public void close() {
+		if (MOUNTED.remove(this)) {
+			AssetCache.invalidateUnpinned();
+		}
+	}
+
+	/**
+	 * Retrieves the names of the sprites in the pack.
+	 *
+	 * @return The names.
+	 */
+	public Set<String> getSpriteNames() {
+		return Collections.unmodifiableSet(animationOffsets.keySet());
+	}
+
+	/**
+	 * Retrieves the names of a sprite's animations in the pack.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The names, or an empty set if the pack does not contain the sprite.
+	 */
+	public Set<String> getAnimationNames(final @NonNull String spriteName) {
+		final var animations = animationOffsets.get(spriteName);
+		return animations == null ? Set.of() : animations.keySet();
+	}
+
+	/**
+	 * Reads the sheet image of a sprite.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The image, or null if the pack does not contain a sheet for the sprite.
+	 *
+	 * @throws IOException If the pixel data is corrupt.
+	 */
+	public BufferedImage readSheetImage(final @NonNull String spriteName) throws IOException {
+		final var offset = sheetOffsets.get(spriteName);
+		if (offset == null || buffer.get(offset) == ENCODING_NONE) {
+			return null;
+		}
+
+		final var encoding = buffer.get(offset);
+		final var width = buffer.getInt(offset + 1);
+		final var height = buffer.getInt(offset + 5);
+		final var length = buffer.getInt(offset + 9);
+		final var data = buffer.slice(offset + 13, length);
+
+		final var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		final var pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+		if (encoding == ENCODING_RAW) {
+			data.asIntBuffer().get(pixels);
+			return image;
+		}
+
+		final var inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+
+			final var bytes = ByteBuffer.allocate(pixels.length * Integer.BYTES);
+			while (bytes.hasRemaining() && !inflater.finished()) {
+				if (inflater.inflate(bytes) == 0 && inflater.needsInput()) {
+					break;
+				}
+			}
+
+			if (bytes.hasRemaining()) {
+				throw new IOException("The pixel data of '" + spriteName + "' in the pack '" + path + "' is truncated.");
+			}
+
+			bytes.flip().asIntBuffer().get(pixels);
+		} catch (final DataFormatException e) {
+			throw new IOException("The pixel data of '" + spriteName + "' in the pack '" + path + "' is corrupt.", e);
+		} finally {
+			inflater.end();
+		}
+
+		return image;
+	}
+
+	/**
+	 * Reads the tables of an animation.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 *
+	 * @return
+	 * 		The values of the frame, collision box, and hitbox tables, or null
+	 * 		if the pack does not contain the animation.
+	 */
+	public int[][] readTables(final @NonNull String spriteName, final @NonNull String animationName) {
+		final var animations = animationOffsets.get(spriteName);
+		final var offset = animations == null ? null : animations.get(animationName);
+		if (offset == null) {
+			return null;
+		}
+
+		final var tables = new int[][] {
+			new int[buffer.getInt(offset) * 5],
+			new int[buffer.getInt(offset + 4) * 4],
+			new int[buffer.getInt(offset + 8) * 4]
+		};
+
+		final var values = buffer.slice(offset + 12, buffer.limit() - offset - 12).asIntBuffer();
+		for (final var table : tables) {
+			values.get(table);
+		}
+
+		return tables;
+	}
+
+	/**
+	 * Reads the sheet image of a sprite from the most recently mounted pack
+	 * which contains it.
+	 *
+	 * @param spriteName The name of the sprite.
+	 *
+	 * @return The image, or null if no mounted pack contains the sprite's sheet.
+	 *
+	 * @throws IOException If the pixel data is corrupt.
+	 */
+	static BufferedImage findSheetImage(final String spriteName) throws IOException {
+		for (int i = MOUNTED.size() - 1 ; i >= 0 ; i--) {
+			final var image = MOUNTED.get(i).readSheetImage(spriteName);
+			if (image != null) {
+				return image;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reads the tables of an animation from the most recently mounted pack
+	 * which contains it.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationName The name of the animation.
+	 *
+	 * @return The tables, or null if no mounted pack contains the animation.
+	 *
+	 * @see #readTables(String, String)
+	 */
+	static int[][] findTables(final String spriteName, final String animationName) {
+		for (int i = MOUNTED.size() - 1 ; i >= 0 ; i--) {
+			final var tables = MOUNTED.get(i).readTables(spriteName, animationName);
+			if (tables != null) {
+				return tables;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reads a string from a buffer.
+	 *
+	 * @param reader The buffer.
+	 *
+	 * @return The string.
+	 */
+	private static String readString(final ByteBuffer reader) {
+		final var bytes = new byte[Short.toUnsignedInt(reader.getShort())];
+		reader.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,226 @@
+package com.valkryst.V2DSprite;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <p>Writes {@code .v2dpack} files, which can be read by {@link SpritePack}.</p>
+ *
+ * <p>
+ *     Sprites are usually added from the existing {@code /sprites/<name>}
+ *     layout, with {@link #addSprite(String, String...)}, which loads them
+ *     with {@link SpriteSheet#load(String)} and
+ *     {@link AnimationClip#load(String, String)}.
+ * </p>
+ *
+ * <pre>{@code
+ * new SpritePackWriter()
+ *     .addSprite("hero", "idle", "walk")
+ *     .addSprite("slime", "idle")
+ *     .write(Path.of("sprites.v2dpack"));
+ * }</pre>
+ */
+public class SpritePackWriter {
+	/** The sheet image of each sprite, or null if the sprite has no sheet. */
+	private final Map<String, BufferedImage> sheets = new LinkedHashMap<>();
+
+	/** The clips of each sprite. */
+	private final Map<String, List<AnimationClip>> clips = new LinkedHashMap<>();
+
+	/**
+	 * Whether sheet pixels are deflated. Deflated packs are smaller, but
+	 * take longer to load.
+	 */
+	@Getter @Setter private boolean compressed = false;
+
+	/**
+	 * Adds a sprite's sheet, and some of its animations, from the
+	 * {@code /sprites/<name>} resources of the JAR.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param animationNames The names of the animations to add.
+	 *
+	 * @return This writer.
+	 */
+	public SpritePackWriter addSprite(final @NonNull String spriteName, final @NonNull String... animationNames) {
+		addSheet(spriteName, SpriteSheet.load(spriteName).getImage());
+
+		for (final var animationName : animationNames) {
+			addClip(AnimationClip.load(spriteName, animationName));
+		}
+
+		return this;
+	}
+
+	/**
+	 * Adds, or replaces, the sheet image of a sprite.
+	 *
+	 * @param spriteName The name of the sprite.
+	 * @param image The image.
+	 *
+	 * @return This writer.
+	 */
+	public SpritePackWriter addSheet(final @NonNull String spriteName, final @NonNull BufferedImage image) {
+		sheets.put(spriteName, image);
+		clips.computeIfAbsent(spriteName, k -> new ArrayList<>());
+		return this;
+	}
+
+	/**
+	 * Adds an animation clip to its sprite.
+	 *
+	 * @param clip The clip.
+	 *
+	 * @return This writer.
+	 */
+	public SpritePackWriter addClip(final @NonNull AnimationClip clip) {
+		sheets.putIfAbsent(clip.getSpriteName(), null);
+
+		final var spriteClips = clips.computeIfAbsent(clip.getSpriteName(), k -> new ArrayList<>());
+		spriteClips.removeIf(existing -> existing.getAnimationName().equals(clip.getAnimationName()));
+		spriteClips.add(clip);
+		return this;
+	}
+
+	/**
+	 * Writes the pack.
+	 *
+	 * @param path The path of the file to write. Any existing file is overwritten.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void write(final @NonNull Path path) throws IOException {
+		try (final var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			output.writeInt(SpritePack.MAGIC);
+			output.writeInt(SpritePack.VERSION);
+			output.writeInt(sheets.size());
+
+			for (final var entry : sheets.entrySet()) {
+				writeString(output, entry.getKey());
+				writeSheet(output, entry.getValue());
+
+				final var spriteClips = clips.get(entry.getKey());
+				output.writeInt(spriteClips.size());
+				for (final var clip : spriteClips) {
+					writeString(output, clip.getAnimationName());
+					writeClip(output, clip);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the pixels of a sheet image.
+	 *
+	 * @param output The stream to write to.
+	 * @param image The image, or null if there is no image.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private void writeSheet(final DataOutputStream output, final BufferedImage image) throws IOException {
+		if (image == null) {
+			output.writeByte(SpritePack.ENCODING_NONE);
+			return;
+		}
+
+		final var width = image.getWidth();
+		final var height = image.getHeight();
+		final var pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+		final var bytes = ByteBuffer.allocate(pixels.length * Integer.BYTES);
+		bytes.asIntBuffer().put(pixels);
+
+		var data = bytes.array();
+		var length = data.length;
+
+		if (compressed) {
+			final var deflated = new ByteArrayOutputStream(data.length / 4);
+			final var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+			try (final var deflaterStream = new DeflaterOutputStream(deflated, deflater)) {
+				deflaterStream.write(data);
+			} finally {
+				deflater.end();
+			}
+
+			data = deflated.toByteArray();
+			length = data.length;
+		}
+
+		output.writeByte(compressed ? SpritePack.ENCODING_DEFLATED : SpritePack.ENCODING_RAW);
+		output.writeInt(width);
+		output.writeInt(height);
+		output.writeInt(length);
+		output.write(data, 0, length);
+	}
+
+	/**
+	 * Writes the tables of a clip.
+	 *
+	 * @param output The stream to write to.
+	 * @param clip The clip.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static void writeClip(final DataOutputStream output, final AnimationClip clip) throws IOException {
+		output.writeInt(clip.frames.length);
+		output.writeInt(clip.collisionBoxes.length);
+		output.writeInt(clip.hitboxes.length);
+
+		for (final var frame : clip.frames) {
+			output.writeInt(frame.x());
+			output.writeInt(frame.y());
+			output.writeInt(frame.width());
+			output.writeInt(frame.height());
+			output.writeInt(frame.duration());
+		}
+
+		for (final var box : clip.collisionBoxes) {
+			output.writeInt(box.x());
+			output.writeInt(box.y());
+			output.writeInt(box.width());
+			output.writeInt(box.height());
+		}
+
+		for (final var box : clip.hitboxes) {
+			output.writeInt(box.x());
+			output.writeInt(box.y());
+			output.writeInt(box.width());
+			output.writeInt(box.height());
+		}
+	}
+
+	/**
+	 * Writes a string.
+	 *
+	 * @param output The stream to write to.
+	 * @param string The string.
+	 *
+	 * @throws IOException If an I/O error occurs, or if the string is too long.
+	 */
+	private static void writeString(final DataOutputStream output, final String string) throws IOException {
+		final var bytes = string.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > 0xFFFF) {
+			throw new IOException("The name '" + string + "' is too long.");
+		}
+
+		output.writeShort(bytes.length);
+		output.write(bytes);
+	}
+}
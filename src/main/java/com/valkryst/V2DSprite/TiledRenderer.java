@@ -0,0 +1,308 @@
+package com.valkryst.V2DSprite;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>Draws many {@link Animation}s onto a large image, in parallel.</p>
+ *
+ * <p>
+ *     Animations are submitted, with a position and a z-order, then drawn
+ *     together by {@link #render(BufferedImage)}. The image is split into
+ *     square tiles of {@link #getTileSize()} pixels, each submission is
+ *     binned into the tiles which its frame overlaps, and each tile is drawn
+ *     by its own task, through a graphics context which is confined to the
+ *     tile. Tiles do not overlap, so the tasks never draw on the same pixels.
+ * </p>
+ *
+ * <p>
+ *     Submissions with a lower z-order are drawn first, and submissions with
+ *     the same z-order are drawn in the order in which they were submitted.
+ *     The result is identical to drawing each submission, in that order, with
+ *     {@link Animation#draw(Graphics, int, int)}.
+ * </p>
+ *
+ * <pre>{@code
+ * for (final var mob : mobs) {
+ *     renderer.submit(mob.getAnimation(), mob.getX(), mob.getY(), mob.getZ());
+ * }
+ *
+ * renderer.render(mapPreview);
+ * }</pre>
+ *
+ * <p>
+ *     This class is not thread-safe. Only the drawing of tiles, performed by
+ *     {@link #render(BufferedImage, Executor)}, runs on other threads, and
+ *     the submitted animations must not be updated until it has returned.
+ * </p>
+ */
+public class TiledRenderer {
+	/** The width and height of each tile. */
+	@Getter private int tileSize = 256;
+
+	/** The animation of each submission. */
+	private Animation[] animations;
+
+	/** The x-axis position of each submission. */
+	private int[] xs;
+
+	/** The y-axis position of each submission. */
+	private int[] ys;
+
+	/** The z-order of each submission. */
+	private int[] zs;
+
+	/** The number of submissions. */
+	private int size = 0;
+
+	/** Constructs a new {@code TiledRenderer}. */
+	public TiledRenderer() {
+		this(256);
+	}
+
+	/**
+	 * Constructs a new {@code TiledRenderer}.
+	 *
+	 * @param initialCapacity
+	 * 			The number of submissions for which to allocate space.
+	 */
+	public TiledRenderer(final int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException("The initial capacity must be at least 1. It is currently " + initialCapacity + ".");
+		}
+
+		animations = new Animation[initialCapacity];
+		xs = new int[initialCapacity];
+		ys = new int[initialCapacity];
+		zs = new int[initialCapacity];
+	}
+
+	/**
+	 * Submits the current frame of an animation to be drawn, with a z-order
+	 * of zero.
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 */
+	public void submit(final @NonNull Animation animation, final int x, final int y) {
+		submit(animation, x, y, 0);
+	}
+
+	/**
+	 * Submits the current frame of an animation to be drawn.
+	 *
+	 * @param animation The animation.
+	 * @param x The x-axis position at which to draw the frame.
+	 * @param y The y-axis position at which to draw the frame.
+	 * @param z The z-order of the frame.
+	 */
+	public void submit(final @NonNull Animation animation, final int x, final int y, final int z) {
+		if (size == animations.length) {
+			grow();
+		}
+
+		animations[size] = animation;
+		xs[size] = x;
+		ys[size] = y;
+		zs[size] = z;
+		size++;
+	}
+
+	/** Grows the submission arrays to hold twice as many submissions. */
+	private void grow() {
+		final var capacity = animations.length * 2;
+		animations = Arrays.copyOf(animations, capacity);
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		zs = Arrays.copyOf(zs, capacity);
+	}
+
+	/**
+	 * Draws all submissions onto an image, in parallel, using the common
+	 * {@link ForkJoinPool}, then removes them from the renderer.
+	 *
+	 * @param image The image to draw on.
+	 */
+	public void render(final @NonNull BufferedImage image) {
+		render(image, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * <p>
+	 *     Draws all submissions onto an image, in parallel, then removes them
+	 *     from the renderer.
+	 * </p>
+	 *
+	 * <p>
+	 *     The sheet of each submission is resolved on the calling thread, so
+	 *     that every tile draws a submission from the same sheet, or
+	 *     placeholder. Each tile is then drawn by a task run on the given
+	 *     executor. This method blocks until all tasks have completed.
+	 * </p>
+	 *
+	 * @param image The image to draw on.
+	 * @param executor The executor on which to run the tasks.
+	 *
+	 * @see Animation#setNonBlockingDraw(boolean)
+	 */
+	public void render(final @NonNull BufferedImage image, final @NonNull Executor executor) {
+		if (size == 0) {
+			return;
+		}
+
+		final var order = sort();
+
+		final var clips = new AnimationClip[size];
+		final var frameIndices = new int[size];
+		final var sheetImages = new Image[size];
+		final var sheetImagesBySprite = new HashMap<String, Image>();
+		for (int i = 0 ; i < size ; i++) {
+			clips[i] = animations[i].getClip();
+			frameIndices[i] = animations[i].getFrameIndex();
+
+			if (clips[i].frameImages == null) {
+				sheetImages[i] = sheetImagesBySprite.computeIfAbsent(clips[i].getSpriteName(), Animation::getSheetImage);
+			}
+		}
+
+		final var columns = (image.getWidth() + tileSize - 1) / tileSize;
+		final var rows = (image.getHeight() + tileSize - 1) / tileSize;
+
+		final var bounds = new Rectangle[size];
+		for (int i = 0 ; i < size ; i++) {
+			final var frame = clips[i].frames[frameIndices[i]];
+			bounds[i] = new Rectangle(xs[i], ys[i], frame.width(), frame.height()).intersection(new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+		}
+
+		/*
+		 * The submissions of each tile are stored contiguously, in z-order, in
+		 * a single array. The submissions of tile t are those between
+		 * tileStarts[t] and tileStarts[t + 1].
+		 *
+		 * The submissions of each tile are counted, offset by one tile, so
+		 * that their prefix sum is the start of each tile.
+		 */
+		final var tileStarts = new int[columns * rows + 1];
+		for (final var index : order) {
+			final var frameBounds = bounds[index];
+			if (frameBounds.isEmpty()) {
+				continue;
+			}
+
+			for (int row = frameBounds.y / tileSize ; row <= (frameBounds.y + frameBounds.height - 1) / tileSize ; row++) {
+				for (int column = frameBounds.x / tileSize ; column <= (frameBounds.x + frameBounds.width - 1) / tileSize ; column++) {
+					tileStarts[row * columns + column + 1]++;
+				}
+			}
+		}
+
+		for (int tile = 1 ; tile < tileStarts.length ; tile++) {
+			tileStarts[tile] += tileStarts[tile - 1];
+		}
+
+		final var tileSubmissions = new int[tileStarts[tileStarts.length - 1]];
+		final var tileEnds = Arrays.copyOf(tileStarts, tileStarts.length - 1);
+		for (final var index : order) {
+			final var frameBounds = bounds[index];
+			if (frameBounds.isEmpty()) {
+				continue;
+			}
+
+			for (int row = frameBounds.y / tileSize ; row <= (frameBounds.y + frameBounds.height - 1) / tileSize ; row++) {
+				for (int column = frameBounds.x / tileSize ; column <= (frameBounds.x + frameBounds.width - 1) / tileSize ; column++) {
+					tileSubmissions[tileEnds[row * columns + column]++] = index;
+				}
+			}
+		}
+
+		final var tasks = new CompletableFuture<?>[columns * rows];
+		for (int tile = 0 ; tile < tasks.length ; tile++) {
+			final var from = tileStarts[tile];
+			final var to = tileStarts[tile + 1];
+			if (from == to) {
+				tasks[tile] = CompletableFuture.completedFuture(null);
+				continue;
+			}
+
+			final var tileX = (tile % columns) * tileSize;
+			final var tileY = (tile / columns) * tileSize;
+			final var tileImage = image.getSubimage(tileX, tileY, Math.min(tileSize, image.getWidth() - tileX), Math.min(tileSize, image.getHeight() - tileY));
+
+			tasks[tile] = CompletableFuture.runAsync(() -> {
+				final var gc = tileImage.createGraphics();
+				gc.translate(-tileX, -tileY);
+
+				for (int i = from ; i < to ; i++) {
+					final var index = tileSubmissions[i];
+					Animation.drawFrame(gc, clips[index], frameIndices[index], sheetImages[index], xs[index], ys[index]);
+				}
+
+				gc.dispose();
+			}, executor);
+		}
+		CompletableFuture.allOf(tasks).join();
+
+		clear();
+	}
+
+	/**
+	 * Sorts the submissions by z-order, then by the order in which they were
+	 * submitted.
+	 *
+	 * @return The indices of the submissions, in the order in which to draw them.
+	 */
+	private int[] sort() {
+		final var sortKeys = new long[size];
+		for (int i = 0 ; i < size ; i++) {
+			// The z-order is sign-extended, so that negative z-orders sort before positive ones.
+			sortKeys[i] = ((long) zs[i] << 32) | i;
+		}
+		Arrays.sort(sortKeys);
+
+		final var order = new int[size];
+		for (int i = 0 ; i < size ; i++) {
+			order[i] = (int) sortKeys[i];
+		}
+
+		return order;
+	}
+
+	/** Removes all submissions from the renderer, without drawing them. */
+	public void clear() {
+		Arrays.fill(animations, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Retrieves the number of submissions in the renderer.
+	 *
+	 * @return The number of submissions.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Sets the width and height of each tile.
+	 *
+	 * @param tileSize The new tile size.
+	 *
+	 * @throws IllegalArgumentException If the tile size is less than 1.
+	 */
+	public void setTileSize(final int tileSize) {
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("The tile size must be at least 1. It is currently " + tileSize + ".");
+		}
+
+		this.tileSize = tileSize;
+	}
+}
@@ -0,0 +1,198 @@
+package com.valkryst.V2DSprite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.valkryst.V2DSprite.cache.AssetCache;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+
+/**
+ * <p>
+ *     A frame which has been pre-rendered with an {@link AffineTransform},
+ *     so that it can be drawn with a plain, untransformed blit.
+ * </p>
+ *
+ * <p>
+ *     Transformed frames are stored in their own small cache, separate from
+ *     the {@link AssetCache}, keyed by their clip, their frame, and their
+ *     transform rounded to 1/256th, so that commonly repeated transforms, such
+ *     as mirrors, quarter turns, and fixed zoom levels, are only rendered
+ *     once. Continuously varying transforms, such as a spinning sprite, only
+ *     churn that cache, and never evict sheets or clips.
+ * </p>
+ *
+ * <p>
+ *     Each transformed frame remembers the sheet image which it was rendered
+ *     from. If the clip's sheet has since been reloaded, such as after its
+ *     palette swap or raster format was changed, then the frame is rendered
+ *     again from the new sheet.
+ * </p>
+ */
+final class TransformedFrame {
+	/** The precision to which transforms are rounded, when used as keys. */
+	private final static double PRECISION = 256;
+
+	/** The default maximum total size, in bytes, of all cached transformed frames. */
+	private final static long DEFAULT_MAXIMUM_SIZE = 32L * 1024 * 1024;
+
+	/** The cached transformed frames. */
+	private final static Cache<Key, TransformedFrame> CACHE = Caffeine.newBuilder()
+																	   .maximumWeight(DEFAULT_MAXIMUM_SIZE)
+																	   .weigher((Key key, TransformedFrame frame) -> (int) Math.min(Integer.MAX_VALUE, frame.getSizeInBytes()))
+																	   .build();
+
+	/** The pre-rendered frame. */
+	private final BufferedImage image;
+
+	/**
+	 * The sheet image which the frame was rendered from, or null if the clip
+	 * has been sliced. It is weakly referenced, so that it does not keep an
+	 * evicted sheet in memory.
+	 */
+	private final WeakReference<Image> sheetImage;
+
+	/** The x-axis position of the image, relative to the untransformed frame's top-left pixel. */
+	private final int offsetX;
+
+	/** The y-axis position of the image, relative to the untransformed frame's top-left pixel. */
+	private final int offsetY;
+
+	/**
+	 * Constructs a new {@code TransformedFrame}, by rendering a frame.
+	 *
+	 * @param clip The clip.
+	 * @param frameIndex Index of the frame.
+	 * @param sheetImage The image of the clip's {@link SpriteSheet}. Ignored if the clip has been sliced.
+	 * @param transform The transform.
+	 */
+	private TransformedFrame(final AnimationClip clip, final int frameIndex, final Image sheetImage, final AffineTransform transform) {
+		final var frame = clip.frames[frameIndex];
+		final var bounds = transform.createTransformedShape(new Rectangle2D.Double(0, 0, frame.width(), frame.height())).getBounds();
+
+		this.sheetImage = new WeakReference<>(clip.frameImages == null ? sheetImage : null);
+		offsetX = bounds.x;
+		offsetY = bounds.y;
+		image = new BufferedImage(Math.max(1, bounds.width), Math.max(1, bounds.height), BufferedImage.TYPE_INT_ARGB_PRE);
+
+		final var gc = image.createGraphics();
+		gc.translate(-offsetX, -offsetY);
+		gc.transform(transform);
+		Animation.drawFrame(gc, clip, frameIndex, sheetImage, 0, 0);
+		gc.dispose();
+	}
+
+	/**
+	 * Draws a frame of a clip with a transform, rendering and caching the
+	 * transformed frame if it is not already cached.
+	 *
+	 * @param gc The graphics context to draw on.
+	 * @param clip The clip.
+	 * @param frameIndex Index of the frame.
+	 *
+	 * @param sheetImage
+	 * 			The image of the clip's {@link SpriteSheet}, or null if it is
+	 * 			still loading. Ignored if the clip has been sliced.
+	 *
+	 * @param x The x-axis position of the untransformed frame's top-left pixel.
+	 * @param y The y-axis position of the untransformed frame's top-left pixel.
+	 * @param transform The transform, relative to the untransformed frame's top-left pixel.
+	 */
+	static void draw(final Graphics gc, final AnimationClip clip, final int frameIndex, final Image sheetImage, final int x, final int y, final AffineTransform transform) {
+		if (sheetImage == null && clip.frameImages == null) {
+			// The placeholder is drawn, and is not worth caching.
+			final var gc2d = (Graphics2D) gc.create();
+			gc2d.translate(x, y);
+			gc2d.transform(transform);
+			Animation.drawFrame(gc2d, clip, frameIndex, null, 0, 0);
+			gc2d.dispose();
+			return;
+		}
+
+		final var key = getKey(clip, frameIndex, transform);
+		final var sourceImage = clip.frameImages == null ? sheetImage : null;
+
+		var transformedFrame = CACHE.get(key, ignored -> new TransformedFrame(clip, frameIndex, sheetImage, transform));
+		if (transformedFrame.sheetImage.get() != sourceImage) {
+			transformedFrame = CACHE.asMap().compute(key, (ignored, existing) -> {
+				if (existing != null && existing.sheetImage.get() == sourceImage) {
+					return existing;
+				}
+
+				return new TransformedFrame(clip, frameIndex, sheetImage, transform);
+			});
+		}
+
+		gc.drawImage(transformedFrame.image, x + transformedFrame.offsetX, y + transformedFrame.offsetY, null);
+	}
+
+	/**
+	 * Retrieves the key of a transformed frame.
+	 *
+	 * @param clip The clip.
+	 * @param frameIndex Index of the frame.
+	 * @param transform The transform.
+	 *
+	 * @return The key.
+	 */
+	private static Key getKey(final AnimationClip clip, final int frameIndex, final AffineTransform transform) {
+		return new Key(
+			clip.id,
+			frameIndex,
+			Math.round(transform.getScaleX() * PRECISION),
+			Math.round(transform.getShearY() * PRECISION),
+			Math.round(transform.getShearX() * PRECISION),
+			Math.round(transform.getScaleY() * PRECISION),
+			Math.round(transform.getTranslateX() * PRECISION),
+			Math.round(transform.getTranslateY() * PRECISION)
+		);
+	}
+
+	/**
+	 * Retrieves the maximum total size of all cached transformed frames.
+	 *
+	 * @return The maximum size, in bytes.
+	 */
+	static long getMaximumSize() {
+		return CACHE.policy().eviction().orElseThrow().getMaximum();
+	}
+
+	/**
+	 * Sets the maximum total size of all cached transformed frames. If the
+	 * cache is currently larger, then frames are evicted.
+	 *
+	 * @param maximumSize The new maximum size, in bytes.
+	 */
+	static void setMaximumSize(final long maximumSize) {
+		CACHE.policy().eviction().orElseThrow().setMaximum(maximumSize);
+	}
+
+	/**
+	 * Retrieves the approximate amount of memory used by the frame.
+	 *
+	 * @return The size, in bytes.
+	 */
+	long getSizeInBytes() {
+		return AssetCache.getSizeInBytes(image);
+	}
+
+	/**
+	 * The key of a transformed frame. Each component of the transform is
+	 * rounded to {@link #PRECISION}.
+	 *
+	 * @param clipId The id of the clip.
+	 * @param frameIndex Index of the frame.
+	 * @param scaleX The rounded x-axis scale.
+	 * @param shearY The rounded y-axis shear.
+	 * @param shearX The rounded x-axis shear.
+	 * @param scaleY The rounded y-axis scale.
+	 * @param translateX The rounded x-axis translation.
+	 * @param translateY The rounded y-axis translation.
+	 */
+	private record Key(long clipId, int frameIndex, long scaleX, long shearY, long shearX, long scaleY, long translateX, long translateY) {}
+}
@@ -0,0 +1,269 @@
+package com.valkryst.V2DSprite;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+
+/**
+ * <p>Parses tables of integers, such as the TSV files of an animation.</p>
+ *
+ * <p>
+ *     Bytes are read directly from the stream, in blocks, and converted to
+ *     ints as they are read. No {@link String}, regex, or boxed value is
+ *     created per line, so the only allocations are the read buffer and the
+ *     growing array of values.
+ * </p>
+ *
+ * <p>
+ *     Empty lines are ignored, as are delimiters at the end of a line. Both
+ *     {@code \n} and {@code \r\n} line endings are supported.
+ * </p>
+ */
+public final class TsvParser {
+	/** The size, in bytes, of the buffer used to read from a stream. */
+	private final static int BUFFER_SIZE = 8192;
+
+	/** The name of the source being parsed, used in error messages. */
+	private final String sourceName;
+
+	/** The number of columns on each line. */
+	private final int columns;
+
+	/** The parsed values. */
+	private int[] values;
+
+	/** The number of parsed values. */
+	private int valueCount = 0;
+
+	/** The current line, starting from 1. */
+	private int line = 1;
+
+	/** The column, starting from 1, of the current byte. */
+	private int column = 0;
+
+	/** The index of the current value within the current line. */
+	private int field = 0;
+
+	/** Whether a digit of the current value has been read. */
+	private boolean inValue = false;
+
+	/** Whether the current value is negative. */
+	private boolean negative = false;
+
+	/** The magnitude of the current value. */
+	private long value = 0;
+
+	/** The column, starting from 1, of the first character of the current value. */
+	private int valueColumn = 0;
+
+	/** The previous byte. */
+	private byte previousByte = 0;
+
+	/**
+	 * Constructs a new {@code TsvParser}.
+	 *
+	 * @param sourceName The name of the source being parsed.
+	 * @param columns The number of columns on each line.
+	 */
+	private TsvParser(final String sourceName, final int columns) {
+		this.sourceName = sourceName;
+		this.columns = columns;
+		values = new int[columns * 64];
+	}
+
+	/**
+	 * Parses a table of integers from a stream.
+	 *
+	 * @param inputStream The stream. It is read to its end, but is not closed.
+	 * @param sourceName The name of the stream's source, used in error messages.
+	 * @param columns The number of columns on each line.
+	 * @param delimiter The delimiter between columns. This must be an ASCII character.
+	 *
+	 * @return
+	 * 		The values, in row-major order. The number of rows is the length of
+	 * 		the array divided by the number of columns.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 * @throws DataFormatException If the table is incorrectly formatted.
+	 */
+	public static int[] parse(final @NonNull InputStream inputStream, final @NonNull String sourceName, final int columns, final int delimiter) throws IOException, DataFormatException {
+		if (columns < 1) {
+			throw new IllegalArgumentException("The number of columns must be at least 1. It is currently " + columns + ".");
+		}
+
+		if (delimiter < 0 || delimiter > 0x7F || delimiter == '\n' || delimiter == '\r' || delimiter == '-' || (delimiter >= '0' && delimiter <= '9')) {
+			throw new IllegalArgumentException("The delimiter must be an ASCII character, other than a digit, '-', or a line break.");
+		}
+
+		final var parser = new TsvParser(sourceName, columns);
+		final var buffer = new byte[BUFFER_SIZE];
+
+		int read;
+		while ((read = inputStream.read(buffer)) != -1) {
+			for (int i = 0 ; i < read ; i++) {
+				parser.accept(buffer[i], delimiter);
+			}
+		}
+
+		// The last line may not end with a line break, so the end of the stream is treated as one.
+		parser.column++;
+		parser.endLine();
+
+		return parser.valueCount == parser.values.length ? parser.values : Arrays.copyOf(parser.values, parser.valueCount);
+	}
+
+	/**
+	 * Processes the next byte of a table.
+	 *
+	 * @param b The byte.
+	 * @param delimiter The delimiter between columns.
+	 *
+	 * @throws DataFormatException If the byte is unexpected.
+	 */
+	private void accept(final byte b, final int delimiter) throws DataFormatException {
+		column++;
+
+		if (b >= '0' && b <= '9') {
+			if (!inValue) {
+				if (previousByte == '\r') {
+					throw error(column - 1, "Unexpected character 0x0D.");
+				}
+
+				inValue = true;
+				if (!negative) {
+					valueColumn = column;
+				}
+			}
+
+			value = value * 10 + (b - '0');
+			if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+				throw error(valueColumn, "The value does not fit in an int.");
+			}
+		} else if (b == '-' && !inValue && !negative) {
+			negative = true;
+			valueColumn = column;
+		} else if (b == delimiter) {
+			if (!inValue && !negative && field < columns) {
+				throw error(column, "Expected a value.");
+			}
+
+			endValue();
+		} else if (b == '\n') {
+			endLine();
+			line++;
+			column = 0;
+		} else if (b != '\r') {
+			throw error(column, String.format("Unexpected character 0x%02X.", b & 0xFF));
+		} else {
+			endValue();
+		}
+
+		previousByte = b;
+	}
+
+	/**
+	 * Stores the value being parsed, if there is one.
+	 *
+	 * @throws DataFormatException If the value is incomplete, or if the line already has enough values.
+	 */
+	private void endValue() throws DataFormatException {
+		if (!inValue) {
+			if (negative) {
+				throw error(valueColumn, "Expected a digit after '-'.");
+			}
+
+			return;
+		}
+
+		if (field == columns) {
+			throw error(valueColumn, "The line has more than " + columns + " values.");
+		}
+
+		if (valueCount == values.length) {
+			values = Arrays.copyOf(values, values.length * 2);
+		}
+
+		values[valueCount++] = (int) (negative ? -value : value);
+		field++;
+
+		inValue = false;
+		negative = false;
+		value = 0;
+	}
+
+	/**
+	 * Stores the value being parsed, if there is one, then ensures that the
+	 * line is either empty or complete.
+	 *
+	 * @throws DataFormatException If the line does not have the requisite number of values.
+	 */
+	private void endLine() throws DataFormatException {
+		endValue();
+
+		if (field != 0 && field != columns) {
+			throw error(column, "The line has " + field + " values, but " + columns + " are required.");
+		}
+
+		field = 0;
+	}
+
+	/**
+	 * Constructs an exception describing a formatting error on the current line.
+	 *
+	 * @param column The column, starting from 1, of the error.
+	 * @param message The message.
+	 *
+	 * @return The exception.
+	 */
+	private DataFormatException error(final int column, final String message) {
+		return new DataFormatException(String.format("Line %d, column %d of '%s': %s", line, column, sourceName, message));
+	}
+
+	/**
+	 * <p>Parses a single line of integers from a delimited {@link String}.</p>
+	 *
+	 * <p>
+	 *     Unlike {@link String#split(String)}, this does not compile a regex
+	 *     or allocate a substring per value.
+	 * </p>
+	 *
+	 * @param delimitedString The delimited string to parse.
+	 * @param delimiter The delimiter to use.
+	 * @param values The array to store the parsed values in. Its length is the number of values required.
+	 *
+	 * @throws DataFormatException If the string does not have the requisite number of values.
+	 * @throws NumberFormatException If a value is not an integer.
+	 */
+	static void parseLine(final @NonNull String delimitedString, final int delimiter, final int[] values) throws DataFormatException {
+		final var delimiterLength = Character.charCount(delimiter);
+
+		// As with String#split, trailing empty values are ignored.
+		var end = delimitedString.length();
+		while (end > 0 && delimitedString.codePointBefore(end) == delimiter) {
+			end -= delimiterLength;
+		}
+
+		var count = 1;
+		for (int i = delimitedString.indexOf(delimiter) ; i != -1 && i < end ; i = delimitedString.indexOf(delimiter, i + delimiterLength)) {
+			count++;
+		}
+
+		if (count != values.length) {
+			throw new DataFormatException(String.format("The string \"%s\" does not have the requisite number of values.", delimitedString));
+		}
+
+		var start = 0;
+		for (int i = 0 ; i < count ; i++) {
+			var next = delimitedString.indexOf(delimiter, start);
+			if (next == -1 || next > end) {
+				next = end;
+			}
+
+			values[i] = Integer.parseInt(delimitedString, start, next, 10);
+			start = next + delimiterLength;
+		}
+	}
+}
@@ -0,0 +1,605 @@
+package com.valkryst.V2DSprite.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.valkryst.V2DSprite.SpriteSheet;
+import com.valkryst.V2DSprite.listener.AssetEvictionListener;
+import com.valkryst.V2DSprite.listener.AssetLoadFailureListener;
+import com.valkryst.V2DSprite.listener.LoadProgressListener;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A thread-safe cache of all recently loaded assets.</p>
+ *
+ * <p>
+ *     Assets are loaded through {@link #get(AssetKey, AssetLoader)}. If
+ *     multiple threads request the same asset at the same time, then only one
+ *     of them runs the loader and the others wait for its result, so each
+ *     asset is loaded once. A loader may itself load other assets, such as an
+ *     {@link com.valkryst.V2DSprite.AnimationClip} which loads its
+ *     {@link SpriteSheet}.
+ * </p>
+ *
+ * <p>
+ *     Assets can also be loaded in the background, with
+ *     {@link #getAsync(AssetKey, AssetLoader)} and
+ *     {@link #getAllAsync(Collection, AssetLoader, LoadProgressListener)}. Each
+ *     background load runs on its own virtual thread.
+ * </p>
+ *
+ * <p>
+ *     The total size of the cached assets is kept within a budget, see
+ *     {@link #setMaximumSize(long)}. Each asset is weighed by
+ *     {@link SizedAsset#getSizeInBytes()}, so a large sprite sheet counts for
+ *     far more than a small one. Assets which must never be evicted, such as
+ *     the sheet of the player's character, can be pinned with
+ *     {@link #pin(AssetKey)}.
+ * </p>
+ */
+public final class AssetCache {
+	/** The time after which an unused {@link SpriteSheet} is evicted. */
+	private final static Duration SPRITE_SHEET_EXPIRY = Duration.ofSeconds(150);
+
+	/** The time after which any other unused asset is evicted. */
+	private final static Duration DEFAULT_EXPIRY = Duration.ofMinutes(5);
+
+	/** The time after which a pinned asset is evicted. */
+	private final static Duration PINNED_EXPIRY = Duration.ofNanos(Long.MAX_VALUE);
+
+	/** The default maximum total size, in bytes, of all cached assets. */
+	private final static long DEFAULT_MAXIMUM_SIZE = 512L * 1024 * 1024;
+
+	/** The size, in bytes, assumed for assets which are not {@link SizedAsset}s. */
+	private final static int DEFAULT_ASSET_SIZE = 1024;
+
+	/** The keys of all pinned assets. */
+	private final static Set<AssetKey<?>> PINNED_KEYS = ConcurrentHashMap.newKeySet();
+
+	private final static List<AssetEvictionListener> EVICTION_LISTENERS = new CopyOnWriteArrayList<>();
+
+	private final static List<AssetLoadFailureListener> LOAD_FAILURE_LISTENERS = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The failed future of each asset whose most recent load failed, mapped
+	 * to the {@link System#nanoTime()} after which it may be loaded again.
+	 */
+	private final static Map<AssetKey<?>, Map.Entry<CompletableFuture<Object>, Long>> FAILED_LOADS = new ConcurrentHashMap<>();
+
+	/**
+	 * The time for which {@link #getAsync(AssetKey, AssetLoader)} returns the
+	 * failed future of an asset, rather than loading it again.
+	 */
+	private static volatile Duration retryDelay = Duration.ofSeconds(10);
+
+	/**
+	 * The cached assets. Each asset is stored as a completed future. Assets
+	 * which are still loading are kept in {@link #LOADING} instead, so that
+	 * a failed load never enters the cache.
+	 */
+	private final static AsyncCache<AssetKey<?>, Object> CACHE = Caffeine.newBuilder()
+																		 .initialCapacity(0)
+																		 .maximumWeight(DEFAULT_MAXIMUM_SIZE)
+																		 .weigher(AssetCache::getWeight)
+																		 .expireAfter(Expiry.accessing(AssetCache::getExpiry))
+																		 .evictionListener(AssetCache::onEviction)
+																		 .buildAsync();
+
+	/**
+	 * The futures of assets which are being loaded. Each future is inserted
+	 * before its loader is run, so that loaders never run while the cache is
+	 * being updated, and is removed once its loader has finished.
+	 */
+	private final static Map<AssetKey<?>, CompletableFuture<Object>> LOADING = new ConcurrentHashMap<>();
+
+	/** Runs background loads, each on its own virtual thread. */
+	private final static ExecutorService LOADER = Executors.newThreadPerTaskExecutor(
+		Thread.ofVirtual().name("V2DSprite-Loader-", 0).factory()
+	);
+
+	private AssetCache() {}
+
+	/**
+	 * Retrieves an asset from the cache, loading it if it is not present.
+	 *
+	 * @param key The key of the asset.
+	 * @param loader The function used to load the asset, if it is not present.
+	 *
+	 * @return The asset.
+	 *
+	 * @param <T> The type of the asset.
+	 */
+	public static <T> T get(final @NonNull AssetKey<T> key, final @NonNull AssetLoader<T> loader) {
+		final var future = new CompletableFuture<>();
+		final var existingFuture = putIfAbsent(key, future);
+
+		if (existingFuture != null) {
+			return key.type().cast(join(existingFuture));
+		}
+
+		load(key, loader, future);
+		return key.type().cast(join(future));
+	}
+
+	/**
+	 * <p>
+	 *     Retrieves an asset from the cache, loading it in the background if it
+	 *     is not present.
+	 * </p>
+	 *
+	 * <p>
+	 *     If a background load of the asset is already running, then its
+	 *     future is returned rather than starting another load. If the most
+	 *     recent load of the asset failed less than the
+	 *     {@link #setRetryDelay(Duration) retry delay} ago, then its failed
+	 *     future is returned, so that callers which request the asset on every
+	 *     frame do not load it on every frame.
+	 * </p>
+	 *
+	 * @param key The key of the asset.
+	 * @param loader The function used to load the asset, if it is not present.
+	 *
+	 * @return A future which completes with the asset.
+	 *
+	 * @param <T> The type of the asset.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> CompletableFuture<T> getAsync(final @NonNull AssetKey<T> key, final @NonNull AssetLoader<T> loader) {
+		final var failedLoad = FAILED_LOADS.get(key);
+		if (failedLoad != null) {
+			if (System.nanoTime() - failedLoad.getValue() < 0) {
+				return (CompletableFuture<T>) failedLoad.getKey();
+			}
+
+			FAILED_LOADS.remove(key, failedLoad);
+		}
+
+		final var future = new CompletableFuture<>();
+		final var existingFuture = putIfAbsent(key, future);
+
+		if (existingFuture != null) {
+			return (CompletableFuture<T>) existingFuture;
+		}
+
+		LOADER.execute(() -> load(key, loader, future));
+		return (CompletableFuture<T>) future;
+	}
+
+	/**
+	 * Retrieves multiple assets from the cache, loading those which are not
+	 * present in parallel, in the background.
+	 *
+	 * @param keys The keys of the assets.
+	 * @param loader The function used to load an asset, if it is not present.
+	 *
+	 * @param listener
+	 * 			The listener to notify as each asset is loaded, or null if no
+	 * 			listener is required.
+	 *
+	 * @return
+	 * 		A future which completes with the assets, in the same order as the
+	 * 		keys, or which completes exceptionally if any asset fails to load.
+	 *
+	 * @param <T> The type of the assets.
+	 */
+	public static <T> CompletableFuture<List<T>> getAllAsync(final @NonNull Collection<AssetKey<T>> keys, final @NonNull AssetLoader<T> loader, final LoadProgressListener listener) {
+		final var total = keys.size();
+		final var loaded = new AtomicInteger();
+
+		final var futures = new ArrayList<CompletableFuture<T>>(total);
+		for (final var key : keys) {
+			var future = getAsync(key, loader);
+
+			if (listener != null) {
+				future = future.whenComplete((asset, throwable) -> listener.onProgress(loaded.incrementAndGet(), total));
+			}
+
+			futures.add(future);
+		}
+
+		return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+								.thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+	}
+
+	/**
+	 * Retrieves an asset from the cache.
+	 *
+	 * @param key The key of the asset.
+	 *
+	 * @return The asset, or null if it is not present.
+	 *
+	 * @param <T> The type of the asset.
+	 */
+	public static <T> T getIfPresent(final @NonNull AssetKey<T> key) {
+		final var future = CACHE.getIfPresent(key);
+
+		if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+			return null;
+		}
+
+		return key.type().cast(future.join());
+	}
+
+	/**
+	 * Adds an asset to the cache, replacing any existing asset with the same
+	 * key.
+	 *
+	 * @param key The key of the asset.
+	 * @param asset The asset.
+	 *
+	 * @param <T> The type of the asset.
+	 */
+	public static <T> void put(final @NonNull AssetKey<T> key, final @NonNull T asset) {
+		// A load which is still running would otherwise replace the asset when it finishes.
+		LOADING.remove(key);
+		CACHE.put(key, CompletableFuture.completedFuture(asset));
+	}
+
+	/**
+	 * Removes an asset from the cache. If the asset is being loaded, then the
+	 * result of the load is not cached.
+	 *
+	 * @param key The key of the asset.
+	 */
+	public static void invalidate(final @NonNull AssetKey<?> key) {
+		LOADING.remove(key);
+		FAILED_LOADS.remove(key);
+		CACHE.synchronous().invalidate(key);
+	}
+
+	/**
+	 * Removes all assets from the cache. The results of any loads which are
+	 * still running are not cached.
+	 */
+	public static void invalidateAll() {
+		LOADING.clear();
+		FAILED_LOADS.clear();
+		CACHE.synchronous().invalidateAll();
+	}
+
+	/**
+	 * Removes all unpinned assets from the cache. The results of any loads of
+	 * unpinned assets which are still running are not cached. Pinned assets,
+	 * such as those installed by an {@code AtlasBuilder}, are kept.
+	 */
+	public static void invalidateUnpinned() {
+		LOADING.keySet().removeIf(key -> !PINNED_KEYS.contains(key));
+		FAILED_LOADS.keySet().removeIf(key -> !PINNED_KEYS.contains(key));
+		CACHE.asMap().keySet().removeIf(key -> !PINNED_KEYS.contains(key));
+	}
+
+	/**
+	 * <p>
+	 *     Pins an asset, so that it is never evicted from the cache. The asset
+	 *     does not count towards the cache's maximum size while it is pinned.
+	 * </p>
+	 *
+	 * <p>An asset can be pinned before it has been loaded.</p>
+	 *
+	 * @param key The key of the asset.
+	 */
+	public static void pin(final @NonNull AssetKey<?> key) {
+		PINNED_KEYS.add(key);
+		refresh(key);
+	}
+
+	/**
+	 * Unpins an asset, so that it can be evicted from the cache.
+	 *
+	 * @param key The key of the asset.
+	 */
+	public static void unpin(final @NonNull AssetKey<?> key) {
+		PINNED_KEYS.remove(key);
+		refresh(key);
+	}
+
+	/**
+	 * Determines whether an asset is pinned.
+	 *
+	 * @param key The key of the asset.
+	 *
+	 * @return Whether the asset is pinned.
+	 */
+	public static boolean isPinned(final @NonNull AssetKey<?> key) {
+		return PINNED_KEYS.contains(key);
+	}
+
+	/**
+	 * Re-evaluates the weight and expiry of an asset, if it is present. This
+	 * must be called when the size of a cached asset changes, such as when it
+	 * lazily creates a copy of its pixels.
+	 *
+	 * @param key The key of the asset.
+	 */
+	public static void refresh(final @NonNull AssetKey<?> key) {
+		CACHE.asMap().computeIfPresent(key, (ignored, future) -> future);
+	}
+
+	/**
+	 * Retrieves the maximum total size of all unpinned assets in the cache.
+	 *
+	 * @return The maximum size, in bytes.
+	 */
+	public static long getMaximumSize() {
+		return CACHE.synchronous().policy().eviction().orElseThrow().getMaximum();
+	}
+
+	/**
+	 * Sets the maximum total size of all unpinned assets in the cache. If the
+	 * cache is currently larger, then assets are evicted.
+	 *
+	 * @param maximumSize The new maximum size, in bytes.
+	 */
+	public static void setMaximumSize(final long maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The maximum size cannot be negative. It is currently " + maximumSize + ".");
+		}
+
+		CACHE.synchronous().policy().eviction().orElseThrow().setMaximum(maximumSize);
+	}
+
+	/**
+	 * Retrieves the total size of all unpinned assets in the cache.
+	 *
+	 * @return The size, in bytes.
+	 */
+	public static long getSize() {
+		CACHE.synchronous().cleanUp();
+		return CACHE.synchronous().policy().eviction().orElseThrow().weightedSize().orElse(0);
+	}
+
+	/**
+	 * Adds an {@link AssetEvictionListener} to the cache.
+	 *
+	 * @param listener The listener to add.
+	 */
+	public static void addAssetEvictionListener(final @NonNull AssetEvictionListener listener) {
+		EVICTION_LISTENERS.add(listener);
+	}
+
+	/**
+	 * Removes an {@link AssetEvictionListener} from the cache.
+	 *
+	 * @param listener The listener to remove.
+	 */
+	public static void removeAssetEvictionListener(final @NonNull AssetEvictionListener listener) {
+		EVICTION_LISTENERS.remove(listener);
+	}
+
+	/**
+	 * Adds an {@link AssetLoadFailureListener} to the cache.
+	 *
+	 * @param listener The listener to add.
+	 */
+	public static void addAssetLoadFailureListener(final @NonNull AssetLoadFailureListener listener) {
+		LOAD_FAILURE_LISTENERS.add(listener);
+	}
+
+	/**
+	 * Removes an {@link AssetLoadFailureListener} from the cache.
+	 *
+	 * @param listener The listener to remove.
+	 */
+	public static void removeAssetLoadFailureListener(final @NonNull AssetLoadFailureListener listener) {
+		LOAD_FAILURE_LISTENERS.remove(listener);
+	}
+
+	/**
+	 * Retrieves the time for which a failed background load is not retried.
+	 *
+	 * @return The delay.
+	 */
+	public static Duration getRetryDelay() {
+		return retryDelay;
+	}
+
+	/**
+	 * <p>
+	 *     Sets the time for which a failed background load is not retried.
+	 *     During that time, {@link #getAsync(AssetKey, AssetLoader)} returns
+	 *     the failed future of the asset.
+	 * </p>
+	 *
+	 * <p>
+	 *     {@link #get(AssetKey, AssetLoader)} always retries, and
+	 *     invalidating an asset discards its failure.
+	 * </p>
+	 *
+	 * @param retryDelay The new delay.
+	 */
+	public static void setRetryDelay(final @NonNull Duration retryDelay) {
+		if (retryDelay.isNegative()) {
+			throw new IllegalArgumentException("The retry delay cannot be negative. It is currently " + retryDelay + ".");
+		}
+
+		AssetCache.retryDelay = retryDelay;
+	}
+
+	/**
+	 * Sends an eviction to all {@link AssetEvictionListener}s.
+	 *
+	 * @param key The key of the evicted asset.
+	 * @param asset The evicted asset.
+	 * @param cause The reason for which the asset was evicted.
+	 */
+	private static void onEviction(final AssetKey<?> key, final Object asset, final RemovalCause cause) {
+		for (final var listener : EVICTION_LISTENERS) {
+			listener.onEviction(key, asset, cause);
+		}
+	}
+
+	/**
+	 * Retrieves the approximate amount of memory used by the raster of an
+	 * image.
+	 *
+	 * @param image The image.
+	 *
+	 * @return The size of the raster, in bytes.
+	 */
+	public static long getSizeInBytes(final @NonNull BufferedImage image) {
+		final var dataBuffer = image.getRaster().getDataBuffer();
+		return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() * DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+	}
+
+	/**
+	 * Determines the weight of an asset.
+	 *
+	 * @param key The key of the asset.
+	 * @param asset The asset.
+	 *
+	 * @return The weight.
+	 */
+	private static int getWeight(final AssetKey<?> key, final Object asset) {
+		if (PINNED_KEYS.contains(key)) {
+			return 0;
+		}
+
+		if (asset instanceof SizedAsset sizedAsset) {
+			return (int) Math.min(Integer.MAX_VALUE, sizedAsset.getSizeInBytes());
+		}
+
+		return DEFAULT_ASSET_SIZE;
+	}
+
+	/**
+	 * Determines how long an asset may go unused before it is evicted.
+	 *
+	 * @param key The key of the asset.
+	 * @param asset The asset.
+	 *
+	 * @return The duration.
+	 */
+	private static Duration getExpiry(final AssetKey<?> key, final Object asset) {
+		if (PINNED_KEYS.contains(key)) {
+			return PINNED_EXPIRY;
+		}
+
+		return key.type() == SpriteSheet.class ? SPRITE_SHEET_EXPIRY : DEFAULT_EXPIRY;
+	}
+
+	/**
+	 * Finds the future of an asset which is cached or being loaded, or marks
+	 * the asset as being loaded with the given future.
+	 *
+	 * @param key The key of the asset.
+	 * @param future The future to insert, if the asset is neither cached nor being loaded.
+	 *
+	 * @return The existing future, or null if the given future was inserted.
+	 */
+	private static CompletableFuture<?> putIfAbsent(final AssetKey<?> key, final CompletableFuture<Object> future) {
+		final var cachedFuture = CACHE.getIfPresent(key);
+		if (cachedFuture != null) {
+			return cachedFuture;
+		}
+
+		final var loadingFuture = LOADING.putIfAbsent(key, future);
+		if (loadingFuture != null) {
+			return loadingFuture;
+		}
+
+		// A load may have finished, and been cached, between the first check and the insertion.
+		final var loadedFuture = CACHE.getIfPresent(key);
+		if (loadedFuture != null) {
+			LOADING.remove(key, future);
+			return loadedFuture;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Runs a loader, and completes a future with its result. If the loader
+	 * succeeds, and the asset was not invalidated while it was loading, then
+	 * the asset is cached. If the loader fails, then the future is completed
+	 * exceptionally, nothing is cached, the failure is remembered for the
+	 * retry delay, and it is sent to all {@link AssetLoadFailureListener}s.
+	 *
+	 * @param key The key of the asset to load.
+	 * @param loader The loader.
+	 * @param future The future to complete.
+	 *
+	 * @param <T> The type of the asset.
+	 */
+	private static <T> void load(final AssetKey<T> key, final AssetLoader<T> loader, final CompletableFuture<Object> future) {
+		try {
+			final var asset = loader.load(key);
+
+			// The asset is cached before the load is unmarked, so that another thread cannot start a second load.
+			LOADING.computeIfPresent(key, (ignored, loadingFuture) -> {
+				if (loadingFuture != future) {
+					return loadingFuture;
+				}
+
+				CACHE.put(key, CompletableFuture.completedFuture(asset));
+				return null;
+			});
+
+			FAILED_LOADS.remove(key);
+			future.complete(asset);
+		} catch (final Throwable t) {
+			if (LOADING.remove(key, future)) {
+				FAILED_LOADS.put(key, Map.entry(future, System.nanoTime() + retryDelay.toNanos()));
+			}
+
+			for (final var listener : LOAD_FAILURE_LISTENERS) {
+				listener.onLoadFailure(key, t);
+			}
+
+			future.completeExceptionally(t);
+		}
+	}
+
+	/**
+	 * Waits for a future to complete, rethrowing any exception with which it
+	 * completed without wrapping it.
+	 *
+	 * @param future The future.
+	 *
+	 * @return The result of the future.
+	 */
+	@SneakyThrows
+	private static Object join(final CompletableFuture<?> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Loads an asset.
+	 *
+	 * @param <T> The type of the asset.
+	 */
+	@FunctionalInterface
+	public interface AssetLoader<T> {
+		/**
+		 * Loads an asset.
+		 *
+		 * @param key The key of the asset.
+		 *
+		 * @return The asset.
+		 *
+		 * @throws Exception If an error occurs when loading the asset.
+		 */
+		T load(final @NonNull AssetKey<T> key) throws Exception;
+	}
+}
@@ -0,0 +1,18 @@
+package com.valkryst.V2DSprite.cache;
+
+import lombok.NonNull;
+
+/**
+ * Identifies an asset within the {@link AssetCache}.
+ *
+ * @param type The type of the asset.
+ *
+ * @param spriteName The name of the sprite to which the asset belongs.
+ *
+ * @param name
+ * 		The name of the asset within the sprite, such as the name of an
+ * 		animation, or null if the asset belongs to the sprite as a whole.
+ *
+ * @param <T> The type of the asset.
+ */
+public record AssetKey<T>(@NonNull Class<T> type, @NonNull String spriteName, String name) {}
@@ -0,0 +1,322 @@
+package com.valkryst.V2DSprite.cache;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * <p>
+ *     An optional on-disk cache of decoded images, which lets later launches
+ *     skip image decoding entirely.
+ * </p>
+ *
+ * <p>
+ *     Each image is stored as its raw raster data, in a file named after the
+ *     SHA-256 hash of the encoded image. When the same encoded image is
+ *     loaded again, the file is memory-mapped and its data is copied directly
+ *     into a new {@link BufferedImage} of the original type. As the key is a
+ *     hash of the image's contents, any change to the image produces a new
+ *     key, so stale entries are never used. They can be removed with
+ *     {@link #clear()}.
+ * </p>
+ *
+ * <p>
+ *     Indexed images, such as those of {@code TYPE_BYTE_INDEXED} or
+ *     {@code TYPE_BYTE_BINARY}, are stored as {@code TYPE_BYTE_INDEXED},
+ *     together with their palette. Other images whose type is not one of the
+ *     standard types of {@link BufferedImage} are stored as
+ *     {@code TYPE_INT_ARGB}.
+ * </p>
+ *
+ * <p>The cache is disabled until a directory is set, with {@link #setDirectory(Path)}.</p>
+ */
+public final class DiskPixelCache {
+	/** The first four bytes of every cache file. */
+	private final static int MAGIC = 0x56325043;
+
+	/** The version of the cache file format. */
+	private final static int VERSION = 2;
+
+	/** The size, in bytes, of the header of a cache file. */
+	private final static int HEADER_SIZE = 5 * Integer.BYTES;
+
+	/** The extension of cache files. */
+	private final static String EXTENSION = ".pixels";
+
+	/** The directory in which decoded images are stored, or null if the cache is disabled. */
+	@Getter private static volatile Path directory;
+
+	private DiskPixelCache() {}
+
+	/**
+	 * Sets the directory in which decoded images are stored.
+	 *
+	 * @param directory The directory, which is created if necessary, or null to disable the cache.
+	 *
+	 * @throws IOException If the directory cannot be created.
+	 */
+	public static void setDirectory(final Path directory) throws IOException {
+		if (directory != null) {
+			Files.createDirectories(directory);
+		}
+
+		DiskPixelCache.directory = directory;
+	}
+
+	/**
+	 * Determines whether the cache is enabled.
+	 *
+	 * @return Whether a directory has been set.
+	 */
+	public static boolean isEnabled() {
+		return directory != null;
+	}
+
+	/**
+	 * Computes the key of an encoded image.
+	 *
+	 * @param encodedImage The bytes of the encoded image, such as the contents of a PNG file.
+	 *
+	 * @return The key.
+	 */
+	public static String getKey(final byte @NonNull [] encodedImage) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(encodedImage));
+		} catch (final NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Retrieves a decoded image.
+	 *
+	 * @param key The key of the encoded image. See {@link #getKey(byte[])}.
+	 *
+	 * @return
+	 * 		The image, or null if the cache is disabled, or if it does not
+	 * 		contain a valid entry for the key.
+	 */
+	public static BufferedImage get(final @NonNull String key) {
+		final var directory = DiskPixelCache.directory;
+		if (directory == null) {
+			return null;
+		}
+
+		final var path = directory.resolve(key + EXTENSION);
+
+		try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("The file has an invalid size.");
+			}
+
+			final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("The file has an invalid header.");
+			}
+
+			final var width = buffer.getInt();
+			final var height = buffer.getInt();
+			final var type = buffer.getInt();
+
+			// An indexed image's palette follows the header.
+			final BufferedImage image;
+			if (type == BufferedImage.TYPE_BYTE_INDEXED) {
+				final var palette = new int[buffer.getInt()];
+				buffer.asIntBuffer().get(palette);
+				buffer.position(buffer.position() + palette.length * Integer.BYTES);
+				image = new BufferedImage(width, height, type, new IndexColorModel(8, palette.length, palette, 0, true, -1, DataBuffer.TYPE_BYTE));
+			} else {
+				image = new BufferedImage(width, height, type);
+			}
+
+			final var dataBuffer = image.getRaster().getDataBuffer();
+
+			if (dataBuffer instanceof DataBufferInt intBuffer) {
+				buffer.asIntBuffer().get(intBuffer.getData());
+			} else if (dataBuffer instanceof DataBufferByte byteBuffer) {
+				buffer.get(byteBuffer.getData());
+			} else {
+				throw new IOException("The file has an unsupported image type.");
+			}
+
+			return image;
+		} catch (final NoSuchFileException e) {
+			return null;
+		} catch (final IOException | RuntimeException e) {
+			// The entry is corrupt, or was written by an incompatible version, so it is discarded.
+			try {
+				Files.deleteIfExists(path);
+			} catch (final IOException ignored) {}
+
+			return null;
+		}
+	}
+
+	/**
+	 * Stores a decoded image.
+	 *
+	 * <p>
+	 *     Failures to write are ignored, as the cache is only an optimization.
+	 *     The entry is written to a temporary file, then moved into place, so
+	 *     other processes never see a partially written entry.
+	 * </p>
+	 *
+	 * @param key The key of the encoded image. See {@link #getKey(byte[])}.
+	 * @param image The decoded image.
+	 */
+	public static void put(final @NonNull String key, final @NonNull BufferedImage image) {
+		final var directory = DiskPixelCache.directory;
+		if (directory == null) {
+			return;
+		}
+
+		final var standardImage = toStandardImage(image);
+		final var dataBuffer = standardImage.getRaster().getDataBuffer();
+
+		try {
+			final var temporaryFile = Files.createTempFile(directory, key, ".tmp");
+
+			try {
+				try (final var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+					output.writeInt(MAGIC);
+					output.writeInt(VERSION);
+					output.writeInt(standardImage.getWidth());
+					output.writeInt(standardImage.getHeight());
+					output.writeInt(standardImage.getType());
+
+					if (standardImage.getColorModel() instanceof IndexColorModel colorModel) {
+						final var palette = new int[colorModel.getMapSize()];
+						colorModel.getRGBs(palette);
+
+						output.writeInt(palette.length);
+						for (final var color : palette) {
+							output.writeInt(color);
+						}
+					}
+
+					if (dataBuffer instanceof DataBufferInt intBuffer) {
+						final var data = intBuffer.getData();
+						final var bytes = ByteBuffer.allocate(data.length * Integer.BYTES);
+						bytes.asIntBuffer().put(data);
+						output.write(bytes.array());
+					} else {
+						output.write(((DataBufferByte) dataBuffer).getData());
+					}
+				}
+
+				Files.move(temporaryFile, directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		} catch (final IOException ignored) {
+			// The cache is only an optimization, so the image is simply decoded again next time.
+		}
+	}
+
+	/**
+	 * Deletes every entry of the cache.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static void clear() throws IOException {
+		final var directory = DiskPixelCache.directory;
+		if (directory == null) {
+			return;
+		}
+
+		try (final var stream = Files.list(directory)) {
+			for (final var file : (Iterable<Path>) stream::iterator) {
+				if (file.getFileName().toString().endsWith(EXTENSION)) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts an image to one whose raster has the standard layout of its
+	 * type, so that its data can be copied directly into a new image of the
+	 * same type.
+	 *
+	 * @param image The image.
+	 *
+	 * @return The image, if its raster already has the standard layout, or a converted copy.
+	 */
+	private static BufferedImage toStandardImage(final BufferedImage image) {
+		final var width = image.getWidth();
+		final var height = image.getHeight();
+		final var raster = image.getRaster();
+
+		// An indexed image keeps its palette, with one byte per pixel.
+		if (image.getColorModel() instanceof IndexColorModel colorModel && colorModel.getMapSize() <= 256) {
+			if (hasStandardLayout(image, BufferedImage.TYPE_BYTE_INDEXED)) {
+				return image;
+			}
+
+			final var palette = new int[colorModel.getMapSize()];
+			colorModel.getRGBs(palette);
+
+			final var standardImage = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, new IndexColorModel(8, palette.length, palette, 0, true, -1, DataBuffer.TYPE_BYTE));
+			standardImage.getRaster().setPixels(0, 0, width, height, raster.getPixels(0, 0, width, height, (int[]) null));
+			return standardImage;
+		}
+
+		final var type = switch (image.getType()) {
+			case BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_ARGB_PRE,
+				 BufferedImage.TYPE_INT_BGR, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR,
+				 BufferedImage.TYPE_4BYTE_ABGR_PRE, BufferedImage.TYPE_BYTE_GRAY -> image.getType();
+			default -> BufferedImage.TYPE_INT_ARGB;
+		};
+
+		if (hasStandardLayout(image, type)) {
+			return image;
+		}
+
+		final var standardImage = new BufferedImage(width, height, type);
+		if (type == image.getType()) {
+			standardImage.setData(raster);
+		} else {
+			standardImage.setRGB(0, 0, width, height, image.getRGB(0, 0, width, height, null, 0, width), 0, width);
+		}
+
+		return standardImage;
+	}
+
+	/**
+	 * Determines whether an image is of a type, and its raster has the
+	 * standard layout of that type.
+	 *
+	 * @param image The image.
+	 * @param type The type. See {@link BufferedImage#getType()}.
+	 *
+	 * @return Whether the image is of the type, and has the standard layout.
+	 */
+	private static boolean hasStandardLayout(final BufferedImage image, final int type) {
+		final var raster = image.getRaster();
+		if (type != image.getType() || raster.getParent() != null || raster.getDataBuffer().getNumBanks() != 1 || raster.getDataBuffer().getOffset() != 0) {
+			return false;
+		}
+
+		final var standardModel = new BufferedImage(1, 1, type).getSampleModel().createCompatibleSampleModel(image.getWidth(), image.getHeight());
+		return raster.getSampleModel().equals(standardModel) && raster.getDataBuffer().getSize() == image.getWidth() * image.getHeight() * standardModel.getNumDataElements();
+	}
+}
@@ -0,0 +1,14 @@
+package com.valkryst.V2DSprite.cache;
+
+/**
+ * An asset which knows how much memory it uses, so that the
+ * {@link AssetCache} can keep the total size of its assets within a budget.
+ */
+public interface SizedAsset {
+	/**
+	 * Retrieves the approximate amount of memory used by the asset.
+	 *
+	 * @return The size of the asset, in bytes.
+	 */
+	long getSizeInBytes();
+}
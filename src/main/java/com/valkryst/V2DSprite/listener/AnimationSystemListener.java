@@ -0,0 +1,30 @@
+package com.valkryst.V2DSprite.listener;
+
+import com.valkryst.V2DSprite.AnimationSystem;
+import com.valkryst.V2DSprite.Frame;
+import com.valkryst.V2DSprite.type.AnimationEventType;
+import lombok.NonNull;
+
+import java.util.EventListener;
+
+public interface AnimationSystemListener extends EventListener {
+	/**
+	 * <p>
+	 *     This occurs when an animation, owned by an {@link AnimationSystem},
+	 *     changes its {@link Frame} or its pause state.
+	 * </p>
+	 *
+	 * <p>
+	 *     Unlike {@link AnimationEventListener}, only one event is sent per
+	 *     frame change. A {@link AnimationEventType#FIRST_FRAME} or
+	 *     {@link AnimationEventType#LAST_FRAME} event also implies that a new
+	 *     frame was reached.
+	 * </p>
+	 *
+	 * @param system The system which owns the animation.
+	 * @param handle Handle of the animation.
+	 * @param type The type of event.
+	 * @param frameIndex Index of the animation's current frame.
+	 */
+	void onAnimationEvent(final @NonNull AnimationSystem system, final int handle, final @NonNull AnimationEventType type, final int frameIndex);
+}
@@ -0,0 +1,21 @@
+package com.valkryst.V2DSprite.listener;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.cache.AssetKey;
+import lombok.NonNull;
+
+import java.util.EventListener;
+
+@FunctionalInterface
+public interface AssetEvictionListener extends EventListener {
+	/**
+	 * This occurs when an asset is evicted from the {@link AssetCache},
+	 * because it expired or because the cache exceeded its size budget.
+	 *
+	 * @param key The key of the asset.
+	 * @param asset The asset.
+	 * @param cause The reason for which the asset was evicted.
+	 */
+	void onEviction(final @NonNull AssetKey<?> key, final Object asset, final @NonNull RemovalCause cause);
+}
@@ -0,0 +1,20 @@
+package com.valkryst.V2DSprite.listener;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.cache.AssetKey;
+import lombok.NonNull;
+
+import java.util.EventListener;
+
+@FunctionalInterface
+public interface AssetLoadFailureListener extends EventListener {
+	/**
+	 * <p>This occurs each time an asset fails to load into the {@link AssetCache}.</p>
+	 *
+	 * <p>This may be called on any thread, including concurrently by multiple threads.</p>
+	 *
+	 * @param key The key of the asset.
+	 * @param cause The exception thrown by the asset's loader.
+	 */
+	void onLoadFailure(final @NonNull AssetKey<?> key, final @NonNull Throwable cause);
+}
@@ -0,0 +1,19 @@
+package com.valkryst.V2DSprite.listener;
+
+import java.util.EventListener;
+
+@FunctionalInterface
+public interface LoadProgressListener extends EventListener {
+	/**
+	 * <p>This occurs each time an asset, in a bulk load, has been loaded.</p>
+	 *
+	 * <p>
+	 *     This may be called on any thread, including concurrently by
+	 *     multiple threads. An asset which failed to load is still counted.
+	 * </p>
+	 *
+	 * @param loaded The number of assets which have been loaded.
+	 * @param total The total number of assets being loaded.
+	 */
+	void onProgress(final int loaded, final int total);
+}
@@ -0,0 +1,45 @@
+package com.valkryst.V2DSprite.source;
+
+import lombok.NonNull;
+
+import java.io.InputStream;
+
+/**
+ * Reads sprites from the resources of a class loader, such as the
+ * {@code /sprites} folder of a JAR.
+ */
+public class ClasspathSpriteSource implements SpriteSource {
+	/** The class loader to read resources from. */
+	private final ClassLoader classLoader;
+
+	/** The name of the resource folder which contains the sprites, followed by {@code /}. */
+	private final String prefix;
+
+	/** Constructs a new {@code ClasspathSpriteSource}, which reads from the {@code /sprites} folder. */
+	public ClasspathSpriteSource() {
+		this(ClasspathSpriteSource.class.getClassLoader(), "sprites");
+	}
+
+	/**
+	 * Constructs a new {@code ClasspathSpriteSource}.
+	 *
+	 * @param classLoader The class loader to read resources from.
+	 * @param root The name of the resource folder which contains the sprites, such as {@code "sprites"}.
+	 */
+	public ClasspathSpriteSource(final @NonNull ClassLoader classLoader, final @NonNull String root) {
+		this.classLoader = classLoader;
+
+		final var trimmed = root.replaceAll("^/+|/+$", "");
+		prefix = trimmed.isEmpty() ? "" : trimmed + "/";
+	}
+
+	@Override
+	public InputStream open(final @NonNull String path) {
+		return classLoader.getResourceAsStream(prefix + path);
+	}
+
+	@Override
+	public boolean exists(final @NonNull String path) {
+		return classLoader.getResource(prefix + path) != null;
+	}
+}
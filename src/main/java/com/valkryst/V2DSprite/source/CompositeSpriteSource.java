@@ -0,0 +1,75 @@
+package com.valkryst.V2DSprite.source;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * <p>Reads sprites from several sources, in order.</p>
+ *
+ * <p>
+ *     Each file is read from the first source which contains it, so earlier
+ *     sources overlay later ones. For example, a folder of mods can override
+ *     individual files of the assets within the JAR:
+ * </p>
+ *
+ * <pre>{@code
+ * SpriteSources.setSource(new CompositeSpriteSource(
+ *     new DirectorySpriteSource(Path.of("mods/sprites")),
+ *     new ClasspathSpriteSource()
+ * ));
+ * }</pre>
+ */
+public class CompositeSpriteSource implements SpriteSource {
+	/** The sources, in the order in which they are searched. */
+	private final SpriteSource[] sources;
+
+	/**
+	 * Constructs a new {@code CompositeSpriteSource}.
+	 *
+	 * @param sources The sources, in the order in which they are searched.
+	 */
+	public CompositeSpriteSource(final @NonNull SpriteSource... sources) {
+		this.sources = sources.clone();
+
+		for (final var source : this.sources) {
+			if (source == null) {
+				throw new NullPointerException("A source cannot be null.");
+			}
+		}
+	}
+
+	/**
+	 * Constructs a new {@code CompositeSpriteSource}.
+	 *
+	 * @param sources The sources, in the order in which they are searched.
+	 */
+	public CompositeSpriteSource(final @NonNull List<? extends SpriteSource> sources) {
+		this(sources.toArray(new SpriteSource[0]));
+	}
+
+	@Override
+	public InputStream open(final @NonNull String path) throws IOException {
+		for (final var source : sources) {
+			final var inputStream = source.open(path);
+			if (inputStream != null) {
+				return inputStream;
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public boolean exists(final @NonNull String path) throws IOException {
+		for (final var source : sources) {
+			if (source.exists(path)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,64 @@
+package com.valkryst.V2DSprite.source;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * <p>Reads sprites from a folder, using NIO {@link Files}.</p>
+ *
+ * <p>
+ *     The folder may belong to any {@link java.nio.file.FileSystem}, so this
+ *     also reads from the folders of a {@link ZipSpriteSource}.
+ * </p>
+ */
+public class DirectorySpriteSource implements SpriteSource {
+	/** The folder which contains the sprites. */
+	@Getter private final Path root;
+
+	/**
+	 * Constructs a new {@code DirectorySpriteSource}.
+	 *
+	 * @param root The folder which contains the sprites.
+	 */
+	public DirectorySpriteSource(final @NonNull Path root) {
+		this.root = root;
+	}
+
+	@Override
+	public InputStream open(final @NonNull String path) throws IOException {
+		try {
+			return Files.newInputStream(resolve(path));
+		} catch (final NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public boolean exists(final @NonNull String path) {
+		return Files.isRegularFile(resolve(path));
+	}
+
+	/**
+	 * Resolves a path against the root folder.
+	 *
+	 * @param path The path.
+	 *
+	 * @return The resolved path.
+	 *
+	 * @throws IllegalArgumentException If the path leads outside of the root folder.
+	 */
+	private Path resolve(final String path) {
+		final var resolved = root.resolve(path).normalize();
+		if (!resolved.startsWith(root.normalize())) {
+			throw new IllegalArgumentException("The path '" + path + "' leads outside of '" + root + "'.");
+		}
+
+		return resolved;
+	}
+}
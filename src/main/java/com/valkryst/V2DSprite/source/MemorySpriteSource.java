@@ -0,0 +1,54 @@
+package com.valkryst.V2DSprite.source;
+
+import lombok.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Reads sprites from files held in memory.</p>
+ *
+ * <p>
+ *     This is useful for assets which are downloaded or generated at
+ *     runtime, and for tests.
+ * </p>
+ */
+public class MemorySpriteSource implements SpriteSource {
+	/** The contents of each file. */
+	private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds, or replaces, a file.
+	 *
+	 * @param path The path of the file.
+	 * @param contents The contents of the file. The array is not copied, so it must not be modified afterwards.
+	 *
+	 * @return This source.
+	 */
+	public MemorySpriteSource put(final @NonNull String path, final byte @NonNull [] contents) {
+		files.put(path, contents);
+		return this;
+	}
+
+	/**
+	 * Removes a file.
+	 *
+	 * @param path The path of the file.
+	 */
+	public void remove(final @NonNull String path) {
+		files.remove(path);
+	}
+
+	@Override
+	public InputStream open(final @NonNull String path) {
+		final var contents = files.get(path);
+		return contents == null ? null : new ByteArrayInputStream(contents);
+	}
+
+	@Override
+	public boolean exists(final @NonNull String path) {
+		return files.containsKey(path);
+	}
+}
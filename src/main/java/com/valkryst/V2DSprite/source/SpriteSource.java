@@ -0,0 +1,48 @@
+package com.valkryst.V2DSprite.source;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>A location from which the files of sprites are read.</p>
+ *
+ * <p>
+ *     Paths are relative to the root of the source, which corresponds to the
+ *     {@code sprites} folder described by the README, and are separated by
+ *     {@code /}. For example, {@code "hero/image.png"} or
+ *     {@code "hero/animations/walk_frame.tsv"}.
+ * </p>
+ *
+ * <p>Implementations must be thread-safe.</p>
+ *
+ * @see SpriteSources#setSource(SpriteSource)
+ */
+public interface SpriteSource {
+	/**
+	 * Opens a file.
+	 *
+	 * @param path The path of the file.
+	 *
+	 * @return A stream of the file's contents, or null if the file does not exist.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	InputStream open(final @NonNull String path) throws IOException;
+
+	/**
+	 * Determines whether a file exists.
+	 *
+	 * @param path The path of the file.
+	 *
+	 * @return Whether the file exists.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default boolean exists(final @NonNull String path) throws IOException {
+		try (final var inputStream = open(path)) {
+			return inputStream != null;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.valkryst.V2DSprite.source;
+
+import com.valkryst.V2DSprite.SpriteIndex;
+import com.valkryst.V2DSprite.cache.AssetCache;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Holds the {@link SpriteSource} from which sprites are loaded. */
+public final class SpriteSources {
+	/** The source from which sprites are loaded. Defaults to the {@code /sprites} folder of the classpath. */
+	@Getter private static volatile SpriteSource source = new ClasspathSpriteSource();
+
+	private SpriteSources() {}
+
+	/**
+	 * <p>Sets the source from which sprites are loaded.</p>
+	 *
+	 * <p>
+	 *     Any unpinned sprites already in memory are evicted from the
+	 *     {@link AssetCache}, and the source's {@link SpriteIndex} is read
+	 *     again, so that sprites are loaded from the new source when next
+	 *     used. Pinned sprites, such as those installed by an
+	 *     {@code AtlasBuilder}, are kept.
+	 * </p>
+	 *
+	 * @param source The source.
+	 */
+	public static void setSource(final @NonNull SpriteSource source) {
+		SpriteSources.source = source;
+		SpriteIndex.invalidateCurrent();
+		AssetCache.invalidateUnpinned();
+	}
+}
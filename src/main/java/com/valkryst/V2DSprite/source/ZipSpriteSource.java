@@ -0,0 +1,75 @@
+package com.valkryst.V2DSprite.source;
+
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ *     Reads sprites from a folder within a ZIP or JAR file, through an NIO
+ *     {@link FileSystem}.
+ * </p>
+ *
+ * <p>
+ *     Unlike a {@link ClasspathSpriteSource}, the file does not need to be on
+ *     the classpath, and each read goes directly to the file's entry rather
+ *     than through a class loader.
+ * </p>
+ */
+public class ZipSpriteSource implements SpriteSource, Closeable {
+	/** The file system of the ZIP file. */
+	private final FileSystem fileSystem;
+
+	/** The source which reads from the folder within the file system. */
+	private final DirectorySpriteSource directorySource;
+
+	/**
+	 * Constructs a new {@code ZipSpriteSource}, which reads from the
+	 * {@code sprites} folder of a ZIP file.
+	 *
+	 * @param zipFile The ZIP file.
+	 *
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public ZipSpriteSource(final @NonNull Path zipFile) throws IOException {
+		this(zipFile, "sprites");
+	}
+
+	/**
+	 * Constructs a new {@code ZipSpriteSource}.
+	 *
+	 * @param zipFile The ZIP file.
+	 * @param root The folder, within the ZIP file, which contains the sprites.
+	 *
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public ZipSpriteSource(final @NonNull Path zipFile, final @NonNull String root) throws IOException {
+		fileSystem = FileSystems.newFileSystem(zipFile);
+		directorySource = new DirectorySpriteSource(fileSystem.getPath("/" + root));
+	}
+
+	@Override
+	public InputStream open(final @NonNull String path) throws IOException {
+		return directorySource.open(path);
+	}
+
+	@Override
+	public boolean exists(final @NonNull String path) {
+		return directorySource.exists(path);
+	}
+
+	/**
+	 * Closes the ZIP file. Any later reads fail.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		fileSystem.close();
+	}
+}
@@ -0,0 +1,17 @@
+package com.valkryst.V2DSprite.type;
+
+/** The ways in which a {@code SoftwareBlitter} combines a frame's pixels with those of its target. */
+public enum BlendMode {
+	/** Every pixel of the frame replaces the target's pixel, regardless of its alpha. */
+	OPAQUE,
+
+	/**
+	 * Pixels of the frame with an alpha of at least 128 replace the target's
+	 * pixel, and all other pixels are skipped. This suits sprites whose
+	 * pixels are either fully opaque or fully transparent.
+	 */
+	ALPHA_TEST,
+
+	/** The frame is composited over the target, with premultiplied alpha. */
+	SRC_OVER
+}
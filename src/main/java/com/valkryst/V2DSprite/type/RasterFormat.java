@@ -0,0 +1,163 @@
+package com.valkryst.V2DSprite.type;
+
+import lombok.NonNull;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.util.HashMap;
+
+/**
+ * <p>The in-memory layouts into which a sprite sheet's image can be converted.</p>
+ *
+ * <p>
+ *     Images decoded by {@link javax.imageio.ImageIO} often use a layout, such
+ *     as {@link BufferedImage#TYPE_4BYTE_ABGR} or an indexed layout, for which
+ *     Java2D has no specialized blit loop. Drawing such an image falls back to
+ *     a generic, and much slower, loop.
+ * </p>
+ */
+public enum RasterFormat {
+	/** Keeps the layout produced by the image decoder. */
+	ORIGINAL,
+
+	/** Converts the image to {@link BufferedImage#TYPE_INT_ARGB_PRE}. */
+	PREMULTIPLIED,
+
+	/**
+	 * Converts the image to the translucent layout preferred by the default
+	 * screen's {@link GraphicsConfiguration}. In a headless environment, this
+	 * is the same as {@link #PREMULTIPLIED}.
+	 */
+	COMPATIBLE,
+
+	/**
+	 * <p>
+	 *     Converts the image to {@link BufferedImage#TYPE_BYTE_INDEXED}, with a
+	 *     palette of its exact colors, if it has no more than 256 colors.
+	 *     Otherwise, the image is kept in its original layout.
+	 * </p>
+	 *
+	 * <p>
+	 *     Indexed images use a quarter of the memory of {@code TYPE_INT_ARGB}
+	 *     images, and their palette can be swapped without copying their
+	 *     pixels. See {@code SpriteSheet#setPaletteSwap}. They are drawn with a
+	 *     slower blit loop than {@link #PREMULTIPLIED} images.
+	 * </p>
+	 */
+	INDEXED;
+
+	/**
+	 * Converts an image to this format.
+	 *
+	 * @param image The image.
+	 *
+	 * @return
+	 * 		The converted image, or the original image if it is already in this
+	 * 		format.
+	 */
+	public BufferedImage convert(final @NonNull BufferedImage image) {
+		return switch (this) {
+			case ORIGINAL -> image;
+			case PREMULTIPLIED -> convert(image, BufferedImage.TYPE_INT_ARGB_PRE);
+			case COMPATIBLE -> {
+				if (GraphicsEnvironment.isHeadless()) {
+					yield convert(image, BufferedImage.TYPE_INT_ARGB_PRE);
+				}
+
+				final var configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+															 .getDefaultScreenDevice()
+															 .getDefaultConfiguration();
+
+				if (configuration.getColorModel(Transparency.TRANSLUCENT).equals(image.getColorModel())) {
+					yield image;
+				}
+
+				yield copy(image, configuration.createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT));
+			}
+			case INDEXED -> toIndexed(image);
+		};
+	}
+
+	/**
+	 * Converts an image to {@link BufferedImage#TYPE_BYTE_INDEXED}, with a
+	 * palette of its exact colors.
+	 *
+	 * @param image The image.
+	 *
+	 * @return
+	 * 		The converted image, or the original image if it is already
+	 * 		indexed, or if it has more than 256 colors.
+	 */
+	private static BufferedImage toIndexed(final BufferedImage image) {
+		if (image.getColorModel() instanceof IndexColorModel) {
+			return image;
+		}
+
+		final var width = image.getWidth();
+		final var height = image.getHeight();
+		final var pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+		final var paletteIndices = new HashMap<Integer, Integer>();
+		final var palette = new int[256];
+		final var indices = new byte[pixels.length];
+
+		for (int i = 0 ; i < pixels.length ; i++) {
+			var index = paletteIndices.get(pixels[i]);
+
+			if (index == null) {
+				if (paletteIndices.size() == palette.length) {
+					return image;
+				}
+
+				index = paletteIndices.size();
+				palette[index] = pixels[i];
+				paletteIndices.put(pixels[i], index);
+			}
+
+			indices[i] = (byte) (int) index;
+		}
+
+		final var colorModel = new IndexColorModel(8, Math.max(1, paletteIndices.size()), palette, 0, true, -1, DataBuffer.TYPE_BYTE);
+		final var indexedImage = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, colorModel);
+		System.arraycopy(indices, 0, ((DataBufferByte) indexedImage.getRaster().getDataBuffer()).getData(), 0, indices.length);
+		return indexedImage;
+	}
+
+	/**
+	 * Converts an image to a given type.
+	 *
+	 * @param image The image.
+	 * @param type The type. See {@link BufferedImage#getType()}.
+	 *
+	 * @return
+	 * 		The converted image, or the original image if it is already of the
+	 * 		given type.
+	 */
+	private static BufferedImage convert(final BufferedImage image, final int type) {
+		if (image.getType() == type) {
+			return image;
+		}
+
+		return copy(image, new BufferedImage(image.getWidth(), image.getHeight(), type));
+	}
+
+	/**
+	 * Copies the pixels of one image onto another.
+	 *
+	 * @param source The image to copy from.
+	 * @param destination The image to copy onto.
+	 *
+	 * @return The destination image.
+	 */
+	private static BufferedImage copy(final BufferedImage source, final BufferedImage destination) {
+		final var gc = destination.createGraphics();
+		gc.setComposite(AlphaComposite.Src);
+		gc.drawImage(source, 0, 0, null);
+		gc.dispose();
+
+		return destination;
+	}
+}
@@ -0,0 +1,31 @@
+package com.valkryst.V2DSprite.type;
+
+/** The ways in which the frames of an animation clip can be pre-sliced from its sprite sheet. */
+public enum SliceMode {
+	/** Frames are not sliced, and are drawn from the sprite sheet. */
+	NONE,
+
+	/**
+	 * Each frame is a sub-image which shares the raster of the sprite sheet.
+	 * This uses almost no memory, but keeps the whole sheet in memory for as
+	 * long as the clip is.
+	 */
+	SHARED,
+
+	/**
+	 * Each frame is copied into its own compact image, so the sprite sheet is
+	 * no longer needed once the clip has been loaded.
+	 */
+	COPIED,
+
+	/**
+	 * Only the regions of the sprite sheet which are used by the frames are
+	 * decoded, directly from the sheet's image file, so the whole sheet is
+	 * never loaded. Overlapping frames share a region. This suits large
+	 * atlases of which only a few animations are used, as memory use scales
+	 * with the frames that are used rather than with the size of the sheet.
+	 * If the sheet is already loaded, or is in a mounted pack, the frames
+	 * are copied from it instead.
+	 */
+	REGION
+}
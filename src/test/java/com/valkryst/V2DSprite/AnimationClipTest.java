@@ -0,0 +1,97 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.type.SliceMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.FileNotFoundException;
+
+public class AnimationClipTest {
+	@Test
+	public void testLoad() {
+		final var clip = AnimationClip.load("valid", "idle");
+		Assertions.assertEquals("valid", clip.getSpriteName());
+		Assertions.assertEquals("idle", clip.getAnimationName());
+		Assertions.assertEquals(6, clip.getFrameCount());
+		Assertions.assertEquals(6000, clip.getTotalDuration());
+		Assertions.assertEquals(new Frame(32, 0, 32, 32, 1000), clip.getFrame(1));
+		Assertions.assertEquals(new CollisionBox(32, 0, 32, 32), clip.getCollisionBox(1));
+		Assertions.assertEquals(new Hitbox(32, 0, 32, 32), clip.getHitbox(1));
+	}
+
+	@Test
+	public void testLoadIsShared() {
+		Assertions.assertSame(AnimationClip.load("valid", "idle"), AnimationClip.load("valid", "idle"));
+		Assertions.assertSame(new Animation("valid", "idle").getClip(), new Animation("valid", "idle").getClip());
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = SliceMode.class, names = { "SHARED", "COPIED", "REGION" })
+	public void testSlice(final SliceMode sliceMode) {
+		final var clip = AnimationClip.load("valid", "idle");
+		final var slicedClip = clip.slice(sliceMode);
+		Assertions.assertNull(clip.getFrameImage(0));
+		Assertions.assertEquals(sliceMode, slicedClip.getSliceMode());
+		Assertions.assertSame(slicedClip, slicedClip.slice(sliceMode));
+
+		final var sheet = SpriteSheet.load("valid").getImage();
+		for (int i = 0 ; i < clip.getFrameCount() ; i++) {
+			final var frame = clip.getFrame(i);
+			final var frameImage = slicedClip.getFrameImage(i);
+			Assertions.assertEquals(frame.width(), frameImage.getWidth());
+			Assertions.assertEquals(frame.height(), frameImage.getHeight());
+
+			for (int y = 0 ; y < frame.height() ; y++) {
+				for (int x = 0 ; x < frame.width() ; x++) {
+					Assertions.assertEquals(sheet.getRGB(frame.x() + x, frame.y() + y), frameImage.getRGB(x, y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSliceRegionDoesNotLoadSheet() {
+		AssetCache.invalidateAll();
+
+		final var slicedClip = AnimationClip.load("valid", "idle").slice(SliceMode.REGION);
+		Assertions.assertNull(SpriteSheet.getIfLoaded("valid"));
+
+		final var sheet = SpriteSheet.load("valid").getImage();
+		for (int i = 0 ; i < slicedClip.getFrameCount() ; i++) {
+			final var frame = slicedClip.getFrame(i);
+			final var frameImage = slicedClip.getFrameImage(i);
+
+			for (int y = 0 ; y < frame.height() ; y++) {
+				for (int x = 0 ; x < frame.width() ; x++) {
+					Assertions.assertEquals(sheet.getRGB(frame.x() + x, frame.y() + y), frameImage.getRGB(x, y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testWithoutOptionalData() {
+		final var frames = new Frame[] { new Frame(0, 0, 1, 1, 1) };
+		final var clip = new AnimationClip("sprite", "animation", frames, new CollisionBox[0], new Hitbox[0]);
+		Assertions.assertNull(clip.getCollisionBox(0));
+		Assertions.assertNull(clip.getHitbox(0));
+	}
+
+	@Test
+	public void testLoadWithMissingFrames() {
+		Assertions.assertThrows(FileNotFoundException.class, () -> AnimationClip.load("valid", "missing"));
+	}
+
+	@Test
+	public void testConstructorWithMismatchedHitboxes() {
+		final var frames = new Frame[] { new Frame(0, 0, 1, 1, 1), new Frame(1, 0, 1, 1, 1) };
+		final var hitboxes = new Hitbox[] { new Hitbox(0, 0, 1, 1) };
+
+		Assertions.assertThrows(IllegalStateException.class, () -> {
+			new AnimationClip("sprite", "animation", frames, new CollisionBox[0], hitboxes);
+		});
+	}
+}
@@ -0,0 +1,61 @@
+package com.valkryst.V2DSprite;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the throughput of {@link AnimationSystem#updateParallel(double)}
+ * with 1, 2, 4, and all available cores.
+ */
+public class AnimationSystemBenchmark {
+	private final static int ANIMATION_COUNT = 1_000_000;
+
+	private final static int WARMUP_UPDATES = 200;
+
+	private final static int MEASURED_UPDATES = 500;
+
+	public static void main(final String[] args) {
+		final var random = new Random(0);
+		final var clips = new AnimationClip[16];
+		for (int i = 0 ; i < clips.length ; i++) {
+			final var frames = new Frame[4 + random.nextInt(12)];
+
+			for (int j = 0 ; j < frames.length ; j++) {
+				frames[j] = new Frame(j * 32, 0, 32, 32, 50 + random.nextInt(200));
+			}
+
+			clips[i] = new AnimationClip("benchmark", "clip" + i, frames, new CollisionBox[0], new Hitbox[0]);
+		}
+
+		final var system = new AnimationSystem(ANIMATION_COUNT);
+		for (int i = 0 ; i < ANIMATION_COUNT ; i++) {
+			final var handle = system.add(clips[random.nextInt(clips.length)]);
+			system.setReversed(handle, random.nextBoolean());
+			system.setSpeed(handle, 0.5f + random.nextFloat());
+		}
+
+		final var cores = Runtime.getRuntime().availableProcessors();
+		for (final var parallelism : new int[] { 1, 2, 4, cores }) {
+			final var pool = new ForkJoinPool(parallelism);
+
+			for (int i = 0 ; i < WARMUP_UPDATES ; i++) {
+				system.updateParallel(0.016, pool);
+			}
+
+			final var start = System.nanoTime();
+			for (int i = 0 ; i < MEASURED_UPDATES ; i++) {
+				system.updateParallel(0.016, pool);
+			}
+			final var elapsed = System.nanoTime() - start;
+			pool.shutdown();
+
+			final var updatesPerSecond = (double) ANIMATION_COUNT * MEASURED_UPDATES / (elapsed / 1e9);
+			System.out.printf(
+				"%2d core(s): %8.2f ms/tick, %,.0f animation updates/s%n",
+				parallelism,
+				elapsed / 1e6 / MEASURED_UPDATES,
+				updatesPerSecond
+			);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.adapter.AnimationEventAdapter;
+import com.valkryst.V2DSprite.event.AnimationEvent;
+import com.valkryst.V2DSprite.type.AnimationEventType;
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AnimationSystemTest {
+	private final static AnimationClip CLIP = AnimationClip.load("valid", "idle");
+
+	@ParameterizedTest
+	@CsvSource({
+		"false, 1.0",
+		"true, 1.0",
+		"false, 2.5",
+		"true, 0.5"
+	})
+	public void testUpdateMatchesAnimation(final boolean reversed, final float speed) {
+		final var animation = new Animation(CLIP);
+		animation.setReversed(reversed);
+		animation.setSpeed(speed);
+
+		final var animationEvents = new ArrayList<String>();
+		animation.addAnimationEventListener(new AnimationEventAdapter() {
+			@Override
+			public void onFirstFrame(final @NonNull AnimationEvent event) {
+				animationEvents.add(AnimationEventType.FIRST_FRAME + "@" + event.getIndex());
+			}
+
+			@Override
+			public void onNewFrame(final @NonNull AnimationEvent event) {
+				if (animationEvents.isEmpty() || !animationEvents.get(animationEvents.size() - 1).endsWith("@" + event.getIndex())) {
+					animationEvents.add(AnimationEventType.NEW_FRAME + "@" + event.getIndex());
+				}
+			}
+
+			@Override
+			public void onLastFrame(final @NonNull AnimationEvent event) {
+				animationEvents.add(AnimationEventType.LAST_FRAME + "@" + event.getIndex());
+			}
+		});
+
+		final var system = new AnimationSystem(1);
+		final var handle = system.add(CLIP);
+		system.setReversed(handle, reversed);
+		system.setSpeed(handle, speed);
+
+		final var systemEvents = new ArrayList<String>();
+		system.addAnimationSystemListener((source, eventHandle, type, frameIndex) -> {
+			Assertions.assertEquals(handle, eventHandle);
+			systemEvents.add(type + "@" + frameIndex);
+		});
+
+		for (final var deltaTime : new double[] { 0.25, 0.8, 1.0, 3.7, 0.016, 12.0, 0.5 }) {
+			animation.update(deltaTime);
+			system.update(deltaTime);
+			Assertions.assertEquals(animation.getCurrentFrame(), system.getCurrentFrame(handle));
+		}
+
+		Assertions.assertEquals(animationEvents, systemEvents);
+	}
+
+	@Test
+	public void testUpdateParallelMatchesUpdate() {
+		final var sequential = new AnimationSystem();
+		final var parallel = new AnimationSystem();
+		parallel.setChunkSize(7);
+
+		for (int i = 0 ; i < 100 ; i++) {
+			for (final var system : new AnimationSystem[] { sequential, parallel }) {
+				final var handle = system.add(CLIP);
+				system.setReversed(handle, i % 3 == 0);
+				system.setSpeed(handle, 0.5f + (i % 5));
+			}
+		}
+
+		final var sequentialEvents = new ArrayList<String>();
+		sequential.addAnimationSystemListener((source, handle, type, frameIndex) -> sequentialEvents.add(handle + ":" + type + "@" + frameIndex));
+
+		final var parallelEvents = new ArrayList<String>();
+		parallel.addAnimationSystemListener((source, handle, type, frameIndex) -> parallelEvents.add(handle + ":" + type + "@" + frameIndex));
+
+		for (int i = 0 ; i < 20 ; i++) {
+			sequential.update(0.7);
+			parallel.updateParallel(0.7);
+		}
+
+		Assertions.assertEquals(sequentialEvents, parallelEvents);
+		for (int handle = 0 ; handle < 100 ; handle++) {
+			Assertions.assertEquals(sequential.getFrameIndex(handle), parallel.getFrameIndex(handle));
+		}
+	}
+
+	@Test
+	public void testPausedAnimationsAreNotUpdated() {
+		final var system = new AnimationSystem();
+		final var paused = system.add(CLIP);
+		final var playing = system.add(CLIP);
+		system.setPaused(paused, true);
+
+		system.update(2.5);
+		Assertions.assertEquals(0, system.getFrameIndex(paused));
+		Assertions.assertEquals(2, system.getFrameIndex(playing));
+	}
+
+	@Test
+	public void testHandlesAreReused() {
+		final var system = new AnimationSystem(1);
+		final var first = system.add(CLIP);
+		final var second = system.add(CLIP);
+		Assertions.assertEquals(2, system.size());
+
+		system.remove(first);
+		Assertions.assertEquals(1, system.size());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> system.getFrameIndex(first));
+		Assertions.assertEquals(first, system.add(CLIP));
+		Assertions.assertNotEquals(first, second);
+	}
+
+	@Test
+	public void testReset() {
+		final var system = new AnimationSystem();
+		final var handle = system.add(CLIP);
+		final List<AnimationEventType> events = new ArrayList<>();
+		system.addAnimationSystemListener((source, eventHandle, type, frameIndex) -> events.add(type));
+
+		system.update(3);
+		system.setReversed(handle, true);
+		system.reset(handle);
+		Assertions.assertEquals(CLIP.getFrameCount() - 1, system.getFrameIndex(handle));
+		Assertions.assertEquals(AnimationEventType.LAST_FRAME, events.get(events.size() - 1));
+	}
+}
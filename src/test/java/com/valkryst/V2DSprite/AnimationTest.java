@@ -1,4 +1,139 @@
 package com.valkryst.V2DSprite;
 
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.listener.AssetLoadFailureListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class AnimationTest {
+	@AfterEach
+	public void resetDrawSettings() {
+		Animation.setNonBlockingDraw(false);
+		Animation.setPlaceholder(null);
+	}
+
+	@Test
+	public void testNonBlockingDrawUsesPlaceholder() throws Exception {
+		final var placeholder = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		placeholder.setRGB(0, 0, Color.MAGENTA.getRGB());
+
+		Animation.setNonBlockingDraw(true);
+		Animation.setPlaceholder(placeholder);
+		AssetCache.invalidate(SpriteSheet.getKey("valid"));
+
+		final var animation = new Animation("valid", "idle");
+		final var target = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+		final var gc = target.createGraphics();
+		gc.setClip(0, 0, 32, 32);
+
+		animation.draw(gc);
+		Assertions.assertEquals(Color.MAGENTA.getRGB(), target.getRGB(16, 16));
+
+		SpriteSheet.loadAsync("valid").get();
+		animation.draw(gc);
+		gc.dispose();
+
+		final var expected = SpriteSheet.load("valid").getImage().getRGB(16, 16);
+		Assertions.assertEquals(expected, target.getRGB(16, 16));
+	}
+
+	@Test
+	public void testNonBlockingDrawDoesNotRetryFailedLoads() throws Exception {
+		final var failures = new AtomicInteger();
+		final AssetLoadFailureListener listener = (key, cause) -> failures.incrementAndGet();
+		AssetCache.addAssetLoadFailureListener(listener);
+
+		try {
+			Animation.setNonBlockingDraw(true);
+
+			final var clip = new AnimationClip("missing", "idle", new Frame[] { new Frame(0, 0, 8, 8, 100) }, new CollisionBox[0], new Hitbox[0]);
+			final var animation = new Animation(clip);
+			final var gc = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+			animation.draw(gc, 0, 0);
+			final var future = SpriteSheet.loadAsync("missing");
+			Assertions.assertThrows(ExecutionException.class, future::get);
+
+			for (int i = 0 ; i < 10 ; i++) {
+				animation.draw(gc, 0, 0);
+			}
+			gc.dispose();
+
+			Assertions.assertSame(future, SpriteSheet.loadAsync("missing"));
+			Assertions.assertEquals(1, failures.get());
+		} finally {
+			AssetCache.removeAssetLoadFailureListener(listener);
+			AssetCache.invalidate(SpriteSheet.getKey("missing"));
+		}
+	}
+
+	@Test
+	public void testDrawWithCachedTransform() {
+		final var animation = new Animation("valid", "idle");
+		final var transforms = new AffineTransform[] {
+			new AffineTransform(-1, 0, 0, 1, 32, 0),
+			AffineTransform.getQuadrantRotateInstance(1, 16, 16),
+			AffineTransform.getScaleInstance(2, 2)
+		};
+
+		for (final var transform : transforms) {
+			final var expected = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
+			var gc = expected.createGraphics();
+			gc.translate(10, 20);
+			gc.transform(transform);
+			animation.draw(gc, 0, 0);
+			gc.dispose();
+
+			// The second draw uses the cached frame.
+			for (int i = 0 ; i < 2 ; i++) {
+				final var actual = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
+				gc = actual.createGraphics();
+				animation.draw(gc, 10, 20, transform);
+				Assertions.assertTrue(gc.getTransform().isIdentity());
+				gc.dispose();
+
+				for (int y = 0 ; y < expected.getHeight() ; y++) {
+					for (int x = 0 ; x < expected.getWidth() ; x++) {
+						Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCachedTransformDistinguishesClipsWithSameNames() {
+		final var transform = new AffineTransform(-1, 0, 0, 1, 32, 0);
+		final var collisionBoxes = new CollisionBox[0];
+		final var hitboxes = new Hitbox[0];
+
+		for (int x = 0 ; x < 96 ; x += 32) {
+			final var clip = new AnimationClip("valid", "idle", new Frame[] { new Frame(x, 0, 32, 32, 100) }, collisionBoxes, hitboxes);
+			final var animation = new Animation(clip);
+
+			final var expected = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+			var gc = expected.createGraphics();
+			gc.transform(transform);
+			animation.draw(gc, 0, 0);
+			gc.dispose();
+
+			final var actual = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+			gc = actual.createGraphics();
+			animation.draw(gc, 0, 0, transform);
+			gc.dispose();
+
+			for (int y = 0 ; y < 32 ; y++) {
+				for (int i = 0 ; i < 32 ; i++) {
+					Assertions.assertEquals(expected.getRGB(i, y), actual.getRGB(i, y));
+				}
+			}
+		}
+	}
 }
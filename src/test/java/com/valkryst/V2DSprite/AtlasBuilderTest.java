@@ -0,0 +1,165 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.source.ClasspathSpriteSource;
+import com.valkryst.V2DSprite.source.CompositeSpriteSource;
+import com.valkryst.V2DSprite.source.MemorySpriteSource;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class AtlasBuilderTest {
+	@AfterEach
+	public void reset() {
+		for (final var spriteName : new String[] { "valid", "trimmed" }) {
+			AssetCache.unpin(SpriteSheet.getKey(spriteName));
+			AssetCache.unpin(AnimationClip.getKey(spriteName, "idle"));
+		}
+
+		SpriteSources.setSource(new ClasspathSpriteSource());
+	}
+
+	@Test
+	public void testInstalledSpritesDrawIdentically() throws IOException {
+		SpriteSources.setSource(new CompositeSpriteSource(createTrimmedSprite(), new ClasspathSpriteSource()));
+
+		final var expected = drawAll();
+
+		final var builder = new AtlasBuilder();
+		builder.setTrimmed(true);
+		final var atlases = builder.addSprite("valid", "idle").addSprite("trimmed", "idle").install();
+
+		Assertions.assertEquals(1, atlases.size());
+		Assertions.assertSame(atlases.get(0), SpriteSheet.load("valid").getImage());
+		Assertions.assertSame(atlases.get(0), SpriteSheet.load("trimmed").getImage());
+
+		// Trimming only changes what is packed, not the size of the frame.
+		final var frame = AnimationClip.load("trimmed", "idle").getFrame(0);
+		Assertions.assertEquals(16, frame.width());
+		Assertions.assertEquals(16, frame.height());
+
+		assertPixelsEqual(expected, drawAll());
+	}
+
+	@Test
+	public void testChangingSourceKeepsInstalledAtlas() {
+		final var atlas = new AtlasBuilder().addSprite("valid", "idle").install().get(0);
+
+		SpriteSources.setSource(new ClasspathSpriteSource());
+		Assertions.assertSame(atlas, SpriteSheet.load("valid").getImage());
+		Assertions.assertNotEquals("valid", AtlasBuilder.getAtlasName("valid"));
+	}
+
+	@Test
+	public void testReinstallingTrimmedSprites() throws IOException {
+		SpriteSources.setSource(new CompositeSpriteSource(createTrimmedSprite(), new ClasspathSpriteSource()));
+
+		final var expected = drawAll();
+
+		for (int i = 0 ; i < 2 ; i++) {
+			final var builder = new AtlasBuilder();
+			builder.setTrimmed(true);
+			builder.addSprite("valid", "idle").addSprite("trimmed", "idle").install();
+		}
+
+		assertPixelsEqual(expected, drawAll());
+	}
+
+	@Test
+	public void testFullyTransparentSpritesAreNotInstalled() throws IOException {
+		SpriteSources.setSource(new CompositeSpriteSource(createTrimmedSprite(), new ClasspathSpriteSource()));
+
+		final var builder = new AtlasBuilder();
+		builder.setTrimmed(true);
+		builder.addClip(new AnimationClip("trimmed", "idle", new Frame[] { new Frame(0, 0, 4, 4, 1) }, new CollisionBox[0], new Hitbox[0]));
+
+		Assertions.assertTrue(builder.install().isEmpty());
+		Assertions.assertEquals(16, SpriteSheet.load("trimmed").getImage().getWidth());
+		Assertions.assertFalse(AssetCache.isPinned(AnimationClip.getKey("trimmed", "idle")));
+	}
+
+	@Test
+	public void testSpritesAreSplitAcrossAtlases() {
+		final var builder = new AtlasBuilder();
+		builder.setMaximumSize(64);
+		builder.setPadding(0);
+
+		// The four frames of the first sprite fill the first atlas.
+		final var frames = new Frame[4];
+		for (int i = 0 ; i < frames.length ; i++) {
+			frames[i] = new Frame((i % 2) * 32, (i / 2) * 32, 32, 32, 1);
+		}
+
+		final var atlases = builder.addClip(new AnimationClip("valid", "split", frames, new CollisionBox[0], new Hitbox[0]))
+								   .addClip(new AnimationClip("valid_affine", "split", new Frame[] { new Frame(0, 0, 32, 32, 1) }, new CollisionBox[0], new Hitbox[0]))
+								   .install();
+
+		Assertions.assertEquals(2, atlases.size());
+		Assertions.assertSame(atlases.get(0), SpriteSheet.load("valid").getImage());
+		Assertions.assertSame(atlases.get(1), SpriteSheet.load("valid_affine").getImage());
+
+		for (final var spriteName : new String[] { "valid", "valid_affine" }) {
+			AssetCache.unpin(SpriteSheet.getKey(spriteName));
+			AssetCache.unpin(AnimationClip.getKey(spriteName, "split"));
+		}
+	}
+
+	@Test
+	public void testSpriteLargerThanAtlas() {
+		final var builder = new AtlasBuilder();
+		builder.setMaximumSize(16);
+		Assertions.assertThrows(IllegalStateException.class, () -> builder.addSprite("valid", "idle").install());
+	}
+
+	private static BufferedImage drawAll() {
+		final var image = new BufferedImage(256, 64, BufferedImage.TYPE_INT_ARGB);
+		final var gc = image.createGraphics();
+
+		final var valid = new Animation("valid", "idle");
+		for (int i = 0 ; i < valid.getClip().getFrameCount() ; i++) {
+			valid.draw(gc, i * 32, 0);
+			valid.update(1000);
+		}
+
+		new Animation("trimmed", "idle").draw(gc, 0, 40);
+		gc.dispose();
+		return image;
+	}
+
+	/**
+	 * Creates a sprite with one 16x16 frame, whose only opaque pixels are a
+	 * 4x4 square at (6, 6).
+	 */
+	private static MemorySpriteSource createTrimmedSprite() throws IOException {
+		final var image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 6 ; y < 10 ; y++) {
+			for (int x = 6 ; x < 10 ; x++) {
+				image.setRGB(x, y, 0xFF000000 | x << 16 | y << 8);
+			}
+		}
+
+		final var output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+
+		return new MemorySpriteSource()
+			.put("trimmed/image.png", output.toByteArray())
+			.put("trimmed/animations/idle_frame.tsv", "0\t0\t16\t16\t100".getBytes(StandardCharsets.US_ASCII))
+			.put("trimmed/animations/idle_collisionbox.tsv", new byte[0])
+			.put("trimmed/animations/idle_hitbox.tsv", new byte[0]);
+	}
+
+	private static void assertPixelsEqual(final BufferedImage expected, final BufferedImage actual) {
+		for (int y = 0 ; y < expected.getHeight() ; y++) {
+			for (int x = 0 ; x < expected.getWidth() ; x++) {
+				Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "Pixel (" + x + ", " + y + ")");
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.type.RasterFormat;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Measures the throughput of drawing frames from sheets in each
+ * {@link RasterFormat}.
+ */
+public class BlitBenchmark {
+	private final static int SHEET_SIZE = 1024;
+
+	private final static int FRAME_SIZE = 64;
+
+	private final static int WARMUP_BLITS = 50_000;
+
+	private final static int MEASURED_BLITS = 200_000;
+
+	public static void main(final String[] args) {
+		final var random = new Random(0);
+
+		// ImageIO decodes RGBA PNGs to TYPE_4BYTE_ABGR.
+		final var sheet = new BufferedImage(SHEET_SIZE, SHEET_SIZE, BufferedImage.TYPE_4BYTE_ABGR);
+		for (int y = 0 ; y < SHEET_SIZE ; y++) {
+			for (int x = 0 ; x < SHEET_SIZE ; x++) {
+				sheet.setRGB(x, y, random.nextInt(4) == 0 ? 0 : random.nextInt());
+			}
+		}
+
+		final var target = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+		for (final var format : RasterFormat.values()) {
+			final var image = format.convert(sheet);
+			final var gc = target.createGraphics();
+
+			blit(gc, image, random, WARMUP_BLITS);
+
+			final var start = System.nanoTime();
+			blit(gc, image, random, MEASURED_BLITS);
+			final var elapsed = System.nanoTime() - start;
+			gc.dispose();
+
+			System.out.printf(
+				"%-13s (image type %2d): %,12.0f blits/s%n",
+				format,
+				image.getType(),
+				MEASURED_BLITS / (elapsed / 1e9)
+			);
+		}
+	}
+
+	private static void blit(final Graphics2D gc, final BufferedImage image, final Random random, final int count) {
+		final var framesPerRow = SHEET_SIZE / FRAME_SIZE;
+
+		for (int i = 0 ; i < count ; i++) {
+			final var frame = random.nextInt(framesPerRow * framesPerRow);
+			final var sx = (frame % framesPerRow) * FRAME_SIZE;
+			final var sy = (frame / framesPerRow) * FRAME_SIZE;
+			final var dx = random.nextInt(1280 - FRAME_SIZE);
+			final var dy = random.nextInt(720 - FRAME_SIZE);
+
+			gc.drawImage(image, dx, dy, dx + FRAME_SIZE, dy + FRAME_SIZE, sx, sy, sx + FRAME_SIZE, sy + FRAME_SIZE, null);
+		}
+	}
+}
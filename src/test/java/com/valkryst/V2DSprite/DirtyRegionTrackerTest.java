@@ -0,0 +1,62 @@
+package com.valkryst.V2DSprite;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+
+public class DirtyRegionTrackerTest {
+	private final static AnimationClip CLIP = AnimationClip.load("valid", "idle");
+
+	@Test
+	public void testUnchangedAnimationsAreNotDirty() {
+		final var tracker = new DirtyRegionTracker(new Rectangle(0, 0, 256, 256));
+		final var animation = new Animation(CLIP);
+		tracker.setPosition(animation, 10, 10);
+
+		Assertions.assertEquals(List.of(new Rectangle(0, 0, 256, 256)), tracker.collectDirtyRegions());
+		Assertions.assertTrue(tracker.collectDirtyRegions().isEmpty());
+
+		animation.update(0.5);
+		Assertions.assertTrue(tracker.collectDirtyRegions().isEmpty());
+	}
+
+	@Test
+	public void testNewFrameAndMovementAreDirty() {
+		final var tracker = new DirtyRegionTracker(new Rectangle(0, 0, 256, 256));
+		final var animation = new Animation(CLIP);
+		final var frame = animation.getCurrentFrame();
+		tracker.setPosition(animation, 10, 10);
+		tracker.collectDirtyRegions();
+
+		animation.update(1);
+		Assertions.assertEquals(List.of(new Rectangle(10, 10, frame.width(), frame.height())), tracker.collectDirtyRegions());
+
+		tracker.setPosition(animation, 200, 10);
+		final var regions = tracker.collectDirtyRegions();
+		Assertions.assertEquals(2, regions.size());
+		Assertions.assertTrue(regions.contains(new Rectangle(10, 10, frame.width(), frame.height())));
+		Assertions.assertTrue(regions.contains(new Rectangle(200, 10, frame.width(), frame.height())));
+
+		// Overlapping regions are merged.
+		tracker.setPosition(animation, 210, 10);
+		Assertions.assertEquals(List.of(new Rectangle(200, 10, frame.width() + 10, frame.height())), tracker.collectDirtyRegions());
+	}
+
+	@Test
+	public void testAnimationsOutsideOfViewportAreCulled() {
+		final var tracker = new DirtyRegionTracker(new Rectangle(1000, 1000, 64, 64));
+		final var animation = new Animation(CLIP);
+		tracker.setPosition(animation, 0, 0);
+		tracker.collectDirtyRegions();
+
+		Assertions.assertFalse(tracker.isVisible(animation, 0, 0));
+
+		animation.update(1);
+		Assertions.assertTrue(tracker.collectDirtyRegions().isEmpty());
+
+		tracker.setPosition(animation, 1040, 1040);
+		Assertions.assertEquals(List.of(new Rectangle(40, 40, 24, 24)), tracker.collectDirtyRegions());
+	}
+}
@@ -0,0 +1,109 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.FrameDeduplicator.FrameRegion;
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.source.ClasspathSpriteSource;
+import com.valkryst.V2DSprite.source.MemorySpriteSource;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class FrameDeduplicatorTest {
+	/** Three 16x16 frames, of which the first and third are identical. */
+	private final static String FRAMES = "0\t0\t16\t16\t100\n16\t0\t16\t16\t100\n32\t0\t16\t16\t100";
+
+	@BeforeEach
+	public void createSprites() throws IOException {
+		final var image = new BufferedImage(48, 16, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0 ; y < 16 ; y++) {
+			for (int x = 0 ; x < 16 ; x++) {
+				image.setRGB(x, y, 0xFF000000 | x << 16 | y << 8);
+				image.setRGB(x + 16, y, 0xFF0000FF);
+				image.setRGB(x + 32, y, 0xFF000000 | x << 16 | y << 8);
+			}
+		}
+
+		final var output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+
+		final var source = new MemorySpriteSource();
+		for (final var spriteName : new String[] { "first", "second" }) {
+			source.put(spriteName + "/image.png", output.toByteArray())
+				  .put(spriteName + "/animations/idle_frame.tsv", FRAMES.getBytes(StandardCharsets.US_ASCII))
+				  .put(spriteName + "/animations/idle_collisionbox.tsv", new byte[0])
+				  .put(spriteName + "/animations/idle_hitbox.tsv", new byte[0]);
+		}
+
+		SpriteSources.setSource(source);
+	}
+
+	@AfterEach
+	public void reset() {
+		for (final var spriteName : new String[] { "first", "second" }) {
+			AssetCache.unpin(SpriteSheet.getKey(spriteName));
+			AssetCache.unpin(AnimationClip.getKey(spriteName, "idle"));
+		}
+
+		SpriteSources.setSource(new ClasspathSpriteSource());
+	}
+
+	@Test
+	public void testAnalyze() {
+		final var report = FrameDeduplicator.analyze(List.of(AnimationClip.load("first", "idle"), AnimationClip.load("second", "idle")));
+
+		Assertions.assertEquals(6, report.regionCount());
+		Assertions.assertEquals(2, report.uniqueRegionCount());
+		Assertions.assertEquals(6 * 16 * 16 * 4, report.totalBytes());
+		Assertions.assertEquals(4 * 16 * 16 * 4, report.reclaimedBytes());
+
+		final var canonicalRegion = new FrameRegion("first", 0, 0, 16, 16);
+		Assertions.assertEquals(canonicalRegion, report.aliases().get(new FrameRegion("first", 32, 0, 16, 16)));
+		Assertions.assertEquals(canonicalRegion, report.aliases().get(new FrameRegion("second", 0, 0, 16, 16)));
+		Assertions.assertEquals(new FrameRegion("first", 16, 0, 16, 16), report.aliases().get(new FrameRegion("second", 16, 0, 16, 16)));
+	}
+
+	@Test
+	public void testDeduplicatedAtlas() {
+		final var animation = new Animation("second", "idle");
+		final var expected = drawAllFrames(animation);
+
+		final var builder = new AtlasBuilder();
+		builder.setDeduplicated(true);
+		builder.setPadding(0);
+		final var atlases = builder.addSprite("first", "idle").addSprite("second", "idle").install();
+
+		Assertions.assertEquals(1, atlases.size());
+		Assertions.assertEquals(32 * 16, atlases.get(0).getWidth() * atlases.get(0).getHeight());
+
+		final var actual = drawAllFrames(new Animation("second", "idle"));
+		for (int y = 0 ; y < expected.getHeight() ; y++) {
+			for (int x = 0 ; x < expected.getWidth() ; x++) {
+				Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+			}
+		}
+	}
+
+	private static BufferedImage drawAllFrames(final Animation animation) {
+		final var image = new BufferedImage(48, 16, BufferedImage.TYPE_INT_ARGB);
+		final var gc = image.createGraphics();
+
+		// Each frame lasts 100 milliseconds, and update takes seconds.
+		for (int i = 0 ; i < 3 ; i++) {
+			Assertions.assertEquals(i, animation.getFrameIndex());
+			animation.draw(gc, i * 16, 0);
+			animation.update(0.1);
+		}
+
+		gc.dispose();
+		return image;
+	}
+}
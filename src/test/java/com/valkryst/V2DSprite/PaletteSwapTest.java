@@ -0,0 +1,149 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.source.ClasspathSpriteSource;
+import com.valkryst.V2DSprite.source.MemorySpriteSource;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import com.valkryst.V2DSprite.type.RasterFormat;
+import com.valkryst.V2DSprite.type.SliceMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class PaletteSwapTest {
+	private final static int GREEN = 0xFF00FF00;
+	private final static int PURPLE = 0xFF8000FF;
+	private final static int BLACK = 0xFF000000;
+	private final static int RED = 0xFFFF0000;
+
+	@BeforeEach
+	public void createSprite() throws IOException {
+		final var image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0 ; y < 16 ; y++) {
+			for (int x = 0 ; x < 16 ; x++) {
+				image.setRGB(x, y, x < 8 ? GREEN : BLACK);
+			}
+		}
+
+		final var output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+
+		SpriteSources.setSource(new MemorySpriteSource()
+			.put("slime_green/image.png", output.toByteArray())
+			.put("slime_green/animations/idle_frame.tsv", "0\t0\t16\t16\t100".getBytes(StandardCharsets.US_ASCII))
+			.put("slime_green/animations/idle_collisionbox.tsv", new byte[0])
+			.put("slime_green/animations/idle_hitbox.tsv", new byte[0]));
+
+		SpriteSheet.setPaletteSwap("slime_purple", new PaletteSwap("slime_green", Map.of(GREEN, PURPLE)));
+	}
+
+	@AfterEach
+	public void reset() {
+		SpriteSheet.setPaletteSwap("slime_purple", null);
+		SpriteSheet.setRasterFormat("slime_green", null);
+		SpriteSources.setSource(new ClasspathSpriteSource());
+	}
+
+	@Test
+	public void testIndexedVariantSharesPixels() {
+		SpriteSheet.setRasterFormat("slime_green", RasterFormat.INDEXED);
+
+		final var baseSheet = SpriteSheet.load("slime_green");
+		final var variantSheet = SpriteSheet.load("slime_purple");
+
+		Assertions.assertInstanceOf(IndexColorModel.class, baseSheet.getImage().getColorModel());
+		Assertions.assertSame(baseSheet.getImage().getRaster(), variantSheet.getImage().getRaster());
+		Assertions.assertTrue(variantSheet.getSizeInBytes() >= AssetCache.getSizeInBytes(baseSheet.getImage()));
+		assertColors(baseSheet.getImage(), GREEN);
+		assertColors(variantSheet.getImage(), PURPLE);
+	}
+
+	@Test
+	public void testReloadedBaseSharesVariantPixels() {
+		SpriteSheet.setRasterFormat("slime_green", RasterFormat.INDEXED);
+
+		final var variantSheet = SpriteSheet.load("slime_purple");
+		AssetCache.invalidate(SpriteSheet.getKey("slime_green"));
+
+		final var baseSheet = SpriteSheet.load("slime_green");
+		Assertions.assertSame(variantSheet.getImage().getRaster(), baseSheet.getImage().getRaster());
+		assertColors(baseSheet.getImage(), GREEN);
+	}
+
+	@Test
+	public void testVariantSlicedByRegion() {
+		AnimationClip.setSliceMode("slime_purple", SliceMode.REGION);
+		try {
+			AssetCache.invalidate(AnimationClip.getKey("slime_purple", "idle"));
+			final var clip = AnimationClip.load("slime_purple", "idle");
+			assertColors(clip.frameImages[0], PURPLE);
+		} finally {
+			AnimationClip.setSliceMode("slime_purple", null);
+		}
+	}
+
+	@Test
+	public void testUnindexedVariantIsCopied() {
+		SpriteSheet.setRasterFormat("slime_green", RasterFormat.PREMULTIPLIED);
+
+		final var baseSheet = SpriteSheet.load("slime_green");
+		final var variantSheet = SpriteSheet.load("slime_purple");
+
+		Assertions.assertNotSame(baseSheet.getImage().getRaster(), variantSheet.getImage().getRaster());
+		assertColors(baseSheet.getImage(), GREEN);
+		assertColors(variantSheet.getImage(), PURPLE);
+	}
+
+	@Test
+	public void testTransformedDrawUsesNewPalette() {
+		final var animation = new Animation("slime_purple", "idle");
+		final var transform = AffineTransform.getScaleInstance(2, 2);
+
+		final var image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+		var gc = image.createGraphics();
+		animation.draw(gc, 0, 0, transform);
+		gc.dispose();
+		Assertions.assertEquals(PURPLE, image.getRGB(0, 0));
+
+		SpriteSheet.setPaletteSwap("slime_purple", new PaletteSwap("slime_green", Map.of(GREEN, RED)));
+		gc = image.createGraphics();
+		animation.draw(gc, 0, 0, transform);
+		gc.dispose();
+		Assertions.assertEquals(RED, image.getRGB(0, 0));
+	}
+
+	@Test
+	public void testVariantHasBaseAnimations() {
+		final var clip = AnimationClip.load("slime_purple", "idle");
+		Assertions.assertEquals("slime_purple", clip.getSpriteName());
+		Assertions.assertEquals(AnimationClip.load("slime_green", "idle").getFrame(0), clip.getFrame(0));
+	}
+
+	@Test
+	public void testIndexedKeepsImagesWithTooManyColors() {
+		final var image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+		for (int i = 0 ; i < 32 * 32 ; i++) {
+			image.setRGB(i % 32, i / 32, 0xFF000000 | i);
+		}
+
+		Assertions.assertSame(image, RasterFormat.INDEXED.convert(image));
+	}
+
+	private static void assertColors(final BufferedImage image, final int leftColor) {
+		for (int y = 0 ; y < 16 ; y++) {
+			for (int x = 0 ; x < 16 ; x++) {
+				Assertions.assertEquals(x < 8 ? leftColor : BLACK, image.getRGB(x, y));
+			}
+		}
+	}
+}
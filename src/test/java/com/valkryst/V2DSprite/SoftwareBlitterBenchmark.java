@@ -0,0 +1,81 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.type.BlendMode;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Measures the throughput of drawing frames with {@link SoftwareBlitter},
+ * compared to {@link Graphics#drawImage}.
+ */
+public class SoftwareBlitterBenchmark {
+	private final static int SHEET_SIZE = 1024;
+
+	private final static int FRAME_SIZE = 32;
+
+	private final static int WARMUP_BLITS = 200_000;
+
+	private final static int MEASURED_BLITS = 1_000_000;
+
+	public static void main(final String[] args) {
+		final var random = new Random(0);
+
+		final var sheet = new BufferedImage(SHEET_SIZE, SHEET_SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+		for (int y = 0 ; y < SHEET_SIZE ; y++) {
+			for (int x = 0 ; x < SHEET_SIZE ; x++) {
+				sheet.setRGB(x, y, random.nextInt(4) == 0 ? 0 : random.nextInt() | 0xFF000000);
+			}
+		}
+
+		final var target = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_ARGB_PRE);
+
+		final var gc = target.createGraphics();
+		drawImage(gc, sheet, new Random(1), WARMUP_BLITS);
+		var start = System.nanoTime();
+		drawImage(gc, sheet, new Random(1), MEASURED_BLITS);
+		print("drawImage", System.nanoTime() - start);
+		gc.dispose();
+
+		final var blitter = new SoftwareBlitter(target);
+		for (final var blendMode : BlendMode.values()) {
+			blit(blitter, sheet, blendMode, new Random(1), WARMUP_BLITS);
+			start = System.nanoTime();
+			blit(blitter, sheet, blendMode, new Random(1), MEASURED_BLITS);
+			print(blendMode.name(), System.nanoTime() - start);
+		}
+	}
+
+	private static void drawImage(final Graphics2D gc, final BufferedImage sheet, final Random random, final int count) {
+		final var framesPerRow = SHEET_SIZE / FRAME_SIZE;
+
+		for (int i = 0 ; i < count ; i++) {
+			final var frame = random.nextInt(framesPerRow * framesPerRow);
+			final var sx = (frame % framesPerRow) * FRAME_SIZE;
+			final var sy = (frame / framesPerRow) * FRAME_SIZE;
+			final var dx = random.nextInt(1280 - FRAME_SIZE);
+			final var dy = random.nextInt(720 - FRAME_SIZE);
+
+			gc.drawImage(sheet, dx, dy, dx + FRAME_SIZE, dy + FRAME_SIZE, sx, sy, sx + FRAME_SIZE, sy + FRAME_SIZE, null);
+		}
+	}
+
+	private static void blit(final SoftwareBlitter blitter, final BufferedImage sheet, final BlendMode blendMode, final Random random, final int count) {
+		final var framesPerRow = SHEET_SIZE / FRAME_SIZE;
+
+		for (int i = 0 ; i < count ; i++) {
+			final var frame = random.nextInt(framesPerRow * framesPerRow);
+			final var sx = (frame % framesPerRow) * FRAME_SIZE;
+			final var sy = (frame / framesPerRow) * FRAME_SIZE;
+			final var dx = random.nextInt(1280 - FRAME_SIZE);
+			final var dy = random.nextInt(720 - FRAME_SIZE);
+
+			blitter.blit(sheet, sx, sy, FRAME_SIZE, FRAME_SIZE, dx, dy, blendMode, false);
+		}
+	}
+
+	private static void print(final String name, final long elapsed) {
+		System.out.printf("%-10s: %,12.0f blits/s%n", name, MEASURED_BLITS / (elapsed / 1e9));
+	}
+}
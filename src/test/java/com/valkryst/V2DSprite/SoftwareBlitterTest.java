@@ -0,0 +1,215 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.type.BlendMode;
+import com.valkryst.V2DSprite.type.SliceMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class SoftwareBlitterTest {
+	private final static int WIDTH = 40;
+
+	private final static int HEIGHT = 30;
+
+	/** Sheet pixels, of which a quarter are transparent, a quarter are translucent, and the rest are opaque. */
+	private final static BufferedImage SHEET = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 1);
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void testOpaque(final boolean flipped) {
+		final var actual = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+		final var expected = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+
+		new SoftwareBlitter(actual).blit(SHEET, 3, 4, 16, 12, 10, 8, BlendMode.OPAQUE, flipped);
+
+		final var gc = expected.createGraphics();
+		gc.setComposite(AlphaComposite.Src);
+		drawImage(gc, 3, 4, 16, 12, 10, 8, flipped);
+		gc.dispose();
+
+		assertPixels(expected, actual, 0);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void testAlphaTest(final boolean flipped) {
+		final var actual = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+		final var expected = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+
+		new SoftwareBlitter(actual).blit(SHEET, 3, 4, 16, 12, 10, 8, BlendMode.ALPHA_TEST, flipped);
+
+		for (int y = 0 ; y < 12 ; y++) {
+			for (int x = 0 ; x < 16 ; x++) {
+				final var pixel = SHEET.getRGB(3 + (flipped ? 15 - x : x), 4 + y);
+				if (pixel >>> 24 >= 128) {
+					expected.setRGB(10 + x, 8 + y, pixel);
+				}
+			}
+		}
+
+		assertPixels(expected, actual, 1);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void testSrcOver(final boolean flipped) {
+		final var actual = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+		final var expected = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+
+		new SoftwareBlitter(actual).blit(SHEET, 3, 4, 16, 12, 10, 8, BlendMode.SRC_OVER, flipped);
+
+		final var gc = expected.createGraphics();
+		drawImage(gc, 3, 4, 16, 12, 10, 8, flipped);
+		gc.dispose();
+
+		assertPixels(expected, actual, 1);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void testClipping(final boolean flipped) {
+		final int[][] positions = { { -5, -7 }, { 30, 25 }, { 12, -3 } };
+
+		for (final var position : positions) {
+			final var actual = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+			final var expected = createImage(BufferedImage.TYPE_INT_ARGB_PRE, 2);
+
+			final var blitter = new SoftwareBlitter(actual);
+			blitter.setClip(2, 1, 30, 20);
+			blitter.blit(SHEET, 3, 4, 16, 12, position[0], position[1], BlendMode.OPAQUE, flipped);
+
+			final var gc = expected.createGraphics();
+			gc.setComposite(AlphaComposite.Src);
+			gc.setClip(2, 1, 30, 20);
+			drawImage(gc, 3, 4, 16, 12, position[0], position[1], flipped);
+			gc.dispose();
+
+			assertPixels(expected, actual, 0);
+		}
+	}
+
+	@Test
+	public void testDrawAnimation() {
+		final var animation = new Animation("valid", "idle");
+		animation.update(2500);
+
+		final var actual = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB_PRE);
+		new SoftwareBlitter(actual).draw(animation, 5, 6, BlendMode.SRC_OVER, false);
+
+		final var expected = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB_PRE);
+		final var gc = expected.createGraphics();
+		animation.draw(gc, 5, 6);
+		gc.dispose();
+
+		assertPixels(expected, actual, 1);
+	}
+
+	@Test
+	public void testConvertedSheetIsWeighed() {
+		AssetCache.invalidate(SpriteSheet.getKey("valid"));
+		final var sheet = SpriteSheet.load("valid");
+		Assumptions.assumeFalse(sheet.getImage().getType() == BufferedImage.TYPE_INT_ARGB_PRE);
+
+		final var sizeInBytes = AssetCache.getSize();
+		new SoftwareBlitter(new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB_PRE)).draw(new Animation("valid", "idle"), 0, 0, BlendMode.SRC_OVER, false);
+		Assertions.assertTrue(AssetCache.getSize() >= sizeInBytes + AssetCache.getSizeInBytes(sheet.getImage()));
+	}
+
+	@Test
+	public void testSlicedFramesAreConvertedOnce() {
+		final var clip = AnimationClip.load("valid", "idle").slice(SliceMode.COPIED);
+		final var actual = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB_PRE);
+		new SoftwareBlitter(actual).draw(new Animation(clip), 5, 6, BlendMode.SRC_OVER, false);
+
+		final var frameImage = clip.getPremultipliedFrameImage(0);
+		Assertions.assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, frameImage.getType());
+		Assertions.assertSame(frameImage, clip.getPremultipliedFrameImage(0));
+
+		final var expected = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB_PRE);
+		final var gc = expected.createGraphics();
+		new Animation(clip).draw(gc, 5, 6);
+		gc.dispose();
+
+		assertPixels(expected, actual, 1);
+	}
+
+	@Test
+	public void testOnlyCachedClipIsReweighed() {
+		final var key = AnimationClip.getKey("valid", "idle");
+		AnimationClip.setSliceMode("valid", SliceMode.COPIED);
+		try {
+			AssetCache.invalidate(key);
+			final var cachedClip = AnimationClip.load("valid", "idle");
+			Assumptions.assumeFalse(cachedClip.frameImages[0].getType() == BufferedImage.TYPE_INT_ARGB_PRE);
+
+			// A copy of the cached clip converts its own frames, without re-weighing the cached clip.
+			final var sizeInBytes = AssetCache.getSize();
+			final var copy = cachedClip.slice(SliceMode.NONE).slice(SliceMode.COPIED);
+			copy.getPremultipliedFrameImage(0);
+			Assertions.assertEquals(sizeInBytes, AssetCache.getSize());
+
+			cachedClip.getPremultipliedFrameImage(0);
+			Assertions.assertTrue(AssetCache.getSize() > sizeInBytes);
+		} finally {
+			AnimationClip.setSliceMode("valid", null);
+			AssetCache.invalidate(key);
+		}
+	}
+
+	@Test
+	public void testRejectsInvalidFrameBuffers() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new SoftwareBlitter(new int[10], 3, 3));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new SoftwareBlitter(new BufferedImage(4, 4, BufferedImage.TYPE_4BYTE_ABGR)));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new SoftwareBlitter(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB).getSubimage(1, 1, 2, 2)));
+	}
+
+	private static BufferedImage createImage(final int type, final long seed) {
+		final var random = new Random(seed);
+		final var image = new BufferedImage(WIDTH, HEIGHT, type);
+
+		for (int y = 0 ; y < HEIGHT ; y++) {
+			for (int x = 0 ; x < WIDTH ; x++) {
+				final var rgb = random.nextInt() & 0xFFFFFF;
+
+				image.setRGB(x, y, switch (random.nextInt(4)) {
+					case 0 -> 0;
+					case 1 -> random.nextInt(1, 255) << 24 | rgb;
+					default -> 0xFF000000 | rgb;
+				});
+			}
+		}
+
+		return image;
+	}
+
+	private static void drawImage(final Graphics2D gc, final int sourceX, final int sourceY, final int width, final int height, final int x, final int y, final boolean flipped) {
+		if (flipped) {
+			gc.drawImage(SHEET, x + width, y, x, y + height, sourceX, sourceY, sourceX + width, sourceY + height, null);
+		} else {
+			gc.drawImage(SHEET, x, y, x + width, y + height, sourceX, sourceY, sourceX + width, sourceY + height, null);
+		}
+	}
+
+	private static void assertPixels(final BufferedImage expected, final BufferedImage actual, final int tolerance) {
+		for (int y = 0 ; y < expected.getHeight() ; y++) {
+			for (int x = 0 ; x < expected.getWidth() ; x++) {
+				final var expectedPixel = expected.getRaster().getDataElements(x, y, null);
+				final var actualPixel = actual.getRaster().getDataElements(x, y, null);
+
+				for (int shift = 0 ; shift < 32 ; shift += 8) {
+					final var expectedChannel = (((int[]) expectedPixel)[0] >>> shift) & 0xFF;
+					final var actualChannel = (((int[]) actualPixel)[0] >>> shift) & 0xFF;
+					Assertions.assertTrue(Math.abs(expectedChannel - actualChannel) <= tolerance, "Pixel (" + x + ", " + y + ") differs.");
+				}
+			}
+		}
+	}
+}
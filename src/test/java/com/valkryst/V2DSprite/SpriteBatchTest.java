@@ -0,0 +1,122 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+public class SpriteBatchTest {
+	private final static AnimationClip CLIP = AnimationClip.load("valid", "idle");
+
+	@Test
+	public void testFlushMatchesSequentialDraws() {
+		final var expected = new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB);
+		final var actual = new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB);
+		final var batch = new SpriteBatch(1);
+
+		// Submitted in reverse z-order, with negative z-orders, so the batch must sort them.
+		final var animations = new Animation[5];
+		for (int i = animations.length - 1 ; i >= 0 ; i--) {
+			// Each frame lasts one second, so each animation shows a different frame.
+			animations[i] = new Animation(CLIP);
+			animations[i].update(i);
+			Assertions.assertEquals(i, animations[i].getFrameIndex());
+			batch.submit(animations[i], i * 20, i * 20, i - 2);
+		}
+		Assertions.assertEquals(animations.length, batch.size());
+
+		var gc = expected.createGraphics();
+		for (int i = 0 ; i < animations.length ; i++) {
+			animations[i].draw(gc, i * 20, i * 20);
+		}
+		gc.dispose();
+
+		gc = actual.createGraphics();
+		batch.flush(gc);
+		gc.dispose();
+
+		Assertions.assertEquals(0, batch.size());
+		assertPixelsEqual(expected, actual);
+	}
+
+	@Test
+	public void testFlushDrawsSpritesWhichShareAnAtlas() {
+		final var spriteNames = new String[] { "valid", "valid_affine" };
+		final var frames = new Frame[][] {
+			{ new Frame(0, 0, 32, 32, 1000), new Frame(32, 0, 32, 32, 1000), new Frame(0, 32, 32, 32, 1000) },
+			{ new Frame(0, 0, 32, 32, 1000) }
+		};
+		final var builder = new AtlasBuilder();
+		final var expected = new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB);
+
+		var gc = expected.createGraphics();
+		for (int i = 0 ; i < 6 ; i++) {
+			final var clip = new AnimationClip(spriteNames[i % 2], "batched", frames[i % 2], new CollisionBox[0], new Hitbox[0]);
+			builder.addClip(clip);
+
+			final var animation = new Animation(clip);
+			animation.update(i / 2);
+			animation.draw(gc, i * 16, i * 16);
+		}
+		gc.dispose();
+
+		builder.install();
+		try {
+			// The sprites alternate, so a run of the atlas spans both of them.
+			final var batch = new SpriteBatch();
+			for (int i = 0 ; i < 6 ; i++) {
+				final var animation = new Animation(AnimationClip.load(spriteNames[i % 2], "batched"));
+				animation.update(i / 2);
+				batch.submit(animation, i * 16, i * 16, i);
+			}
+
+			final var actual = new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB);
+			gc = actual.createGraphics();
+			batch.flush(gc);
+			gc.dispose();
+
+			assertPixelsEqual(expected, actual);
+		} finally {
+			for (final var spriteName : spriteNames) {
+				AssetCache.unpin(SpriteSheet.getKey(spriteName));
+				AssetCache.unpin(AnimationClip.getKey(spriteName, "batched"));
+				AssetCache.invalidate(SpriteSheet.getKey(spriteName));
+				AssetCache.invalidate(AnimationClip.getKey(spriteName, "batched"));
+			}
+		}
+	}
+
+	@Test
+	public void testFlushAppliesTransformAndRestoresIt() {
+		final var animation = new Animation(CLIP);
+		final var width = CLIP.getFrame(0).width();
+		final var mirror = new AffineTransform(-1, 0, 0, 1, width, 0);
+
+		final var expected = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
+		var gc = expected.createGraphics();
+		gc.translate(10, 20);
+		gc.transform(mirror);
+		animation.draw(gc, 0, 0);
+		gc.dispose();
+
+		final var actual = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
+		gc = actual.createGraphics();
+		final var batch = new SpriteBatch();
+		batch.submit(animation, 10, 20, mirror, 0);
+		batch.flush(gc);
+		Assertions.assertTrue(gc.getTransform().isIdentity());
+		gc.dispose();
+
+		assertPixelsEqual(expected, actual);
+	}
+
+	private static void assertPixelsEqual(final BufferedImage expected, final BufferedImage actual) {
+		for (int y = 0 ; y < expected.getHeight() ; y++) {
+			for (int x = 0 ; x < expected.getWidth() ; x++) {
+				Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "Pixel (" + x + ", " + y + ") differs.");
+			}
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.valkryst.V2DSprite;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+
+public class SpriteCompilerTest {
+	@TempDir
+	private Path directory;
+
+	@Test
+	public void testCompile() throws Exception {
+		final var spritesDirectory = directory.resolve("sprites");
+		copySprite("valid", spritesDirectory);
+
+		final var output = directory.resolve("sprites.v2dpack");
+		Assertions.assertEquals(1, SpriteCompiler.compile(spritesDirectory, output, true));
+
+		try (final var pack = SpritePack.open(output)) {
+			Assertions.assertEquals(Set.of("valid"), pack.getSpriteNames());
+			Assertions.assertEquals(Set.of("idle"), pack.getAnimationNames("valid"));
+			Assertions.assertEquals(6 * 5, pack.readTables("valid", "idle")[0].length);
+			Assertions.assertNotNull(pack.readSheetImage("valid"));
+		}
+	}
+
+	@Test
+	public void testCompileReportsEveryProblem() throws Exception {
+		final var spritesDirectory = directory.resolve("sprites");
+		copySprite("valid", spritesDirectory);
+
+		final var animationsDirectory = spritesDirectory.resolve("valid").resolve("animations");
+		Files.writeString(animationsDirectory.resolve("walk_frame.tsv"), "0\t0\t32\t32\t100\n90\t0\t32\t32\t100");
+		Files.writeString(animationsDirectory.resolve("walk_hitbox.tsv"), "0\t0\t8\t8");
+		Files.writeString(animationsDirectory.resolve("jump_frame.tsv"), "0\t0\t32\t32");
+		Files.writeString(animationsDirectory.resolve("run_collisionbox.tsv"), "0\t0\t8\t8");
+
+		final var problems = SpriteCompiler.validate(spritesDirectory);
+		Assertions.assertEquals(4, problems.size(), String.join("\n", problems));
+		Assertions.assertTrue(problems.stream().anyMatch(problem -> problem.startsWith("Line 1, column 10 of '") && problem.contains("jump_frame.tsv")));
+		Assertions.assertTrue(problems.stream().anyMatch(problem -> problem.contains("run_collisionbox.tsv") && problem.contains("no corresponding")));
+		Assertions.assertTrue(problems.stream().anyMatch(problem -> problem.contains("walk_hitbox.tsv' has 1 rows, but there are 2 frames.")));
+		Assertions.assertTrue(problems.stream().anyMatch(problem -> problem.startsWith("Line 2 of '") && problem.contains("outside of the 96x64 sprite sheet")));
+
+		final var output = directory.resolve("sprites.v2dpack");
+		Assertions.assertThrows(DataFormatException.class, () -> SpriteCompiler.compile(spritesDirectory, output, false));
+		Assertions.assertFalse(Files.exists(output));
+	}
+
+	private static void copySprite(final String spriteName, final Path spritesDirectory) throws Exception {
+		final var source = Path.of(SpriteCompilerTest.class.getResource("/sprites/" + spriteName).toURI());
+		final var target = spritesDirectory.resolve(spriteName);
+
+		try (final var files = Files.walk(source)) {
+			for (final var file : (Iterable<Path>) files::iterator) {
+				final var copy = target.resolve(source.relativize(file).toString());
+				if (Files.isDirectory(file)) {
+					Files.createDirectories(copy);
+				} else {
+					Files.copy(file, copy);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.source.ClasspathSpriteSource;
+import com.valkryst.V2DSprite.source.MemorySpriteSource;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+public class SpriteIndexTest {
+	@AfterEach
+	public void resetSource() {
+		SpriteSources.setSource(new ClasspathSpriteSource());
+	}
+
+	@Test
+	public void testCurrentIndexListsTestSprites() throws IOException {
+		final var index = SpriteIndex.getCurrent();
+		Assertions.assertNotNull(index);
+		Assertions.assertEquals(Set.of("valid", "valid_affine"), index.getSpriteNames());
+		Assertions.assertEquals(Map.of("valid", Set.of("idle"), "valid_affine", Set.of("idle")), index.getAnimationNames());
+		Assertions.assertEquals("png", index.getImageFormat("valid"));
+		Assertions.assertEquals(new Dimension(96, 64), index.getImageSize("valid"));
+		Assertions.assertTrue(index.hasTable("valid", "idle", Hitbox.class));
+		Assertions.assertFalse(index.hasTable("valid_affine", "idle", Hitbox.class));
+		Assertions.assertFalse(index.contains("valid", "walk"));
+	}
+
+	@Test
+	public void testGenerateMatchesCommittedIndex() throws Exception {
+		final var generated = SpriteIndex.generate(Path.of(SpriteIndexTest.class.getResource("/sprites").toURI()));
+		final var committed = SpriteIndex.getCurrent();
+		Assertions.assertEquals(committed.getAnimationNames(), generated.getAnimationNames());
+
+		final var outputStream = new ByteArrayOutputStream();
+		generated.write(outputStream);
+
+		final var reread = SpriteIndex.read(new ByteArrayInputStream(outputStream.toByteArray()));
+		Assertions.assertEquals(generated.getAnimationNames(), reread.getAnimationNames());
+		Assertions.assertEquals(generated.getImageSize("valid"), reread.getImageSize("valid"));
+	}
+
+	@Test
+	public void testLoadersOnlyOpenIndexedFiles() throws IOException {
+		final var index = "[hero]\nanimation.idle = frame\n";
+		final var source = new MemorySpriteSource()
+			.put(SpriteIndex.PATH, index.getBytes(StandardCharsets.US_ASCII))
+			.put("hero/animations/idle_frame.tsv", "0\t0\t8\t8\t100".getBytes(StandardCharsets.US_ASCII))
+			.put("hero/animations/idle_hitbox.tsv", "this file is not listed, so it must not be read".getBytes(StandardCharsets.US_ASCII));
+		SpriteSources.setSource(source);
+
+		final var clip = AnimationClip.load("hero", "idle");
+		Assertions.assertEquals(1, clip.getFrameCount());
+		Assertions.assertNull(clip.getHitbox(0));
+
+		// The index lists the sprite without an image, so no formats are probed.
+		try (final var inputStream = SpriteIndexTest.class.getResourceAsStream("/sprites/valid/image.png")) {
+			source.put("hero/image.png", inputStream.readAllBytes());
+		}
+		Assertions.assertThrows(Exception.class, () -> SpriteSheet.load("hero"));
+
+		source.put(SpriteIndex.PATH, (index + "image = png\n").getBytes(StandardCharsets.US_ASCII));
+		SpriteSources.setSource(source);
+		Assertions.assertEquals(96, SpriteSheet.load("hero").getImage().getWidth());
+	}
+}
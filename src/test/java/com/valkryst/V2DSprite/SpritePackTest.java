@@ -0,0 +1,102 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+public class SpritePackTest {
+	@TempDir
+	private Path directory;
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void testWriteAndRead(final boolean compressed) throws IOException {
+		final var path = directory.resolve("sprites.v2dpack");
+		final var writer = new SpritePackWriter().addSprite("valid", "idle");
+		writer.setCompressed(compressed);
+		writer.write(path);
+
+		final var expectedClip = AnimationClip.load("valid", "idle");
+		final var expectedImage = SpriteSheet.load("valid").getImage();
+
+		try (final var pack = SpritePack.open(path)) {
+			Assertions.assertEquals(Set.of("valid"), pack.getSpriteNames());
+			Assertions.assertEquals(Set.of("idle"), pack.getAnimationNames("valid"));
+			Assertions.assertNull(pack.readTables("valid", "walk"));
+
+			final var tables = pack.readTables("valid", "idle");
+			final var clip = AnimationClip.fromTables("valid", "idle", tables[0], tables[1], tables[2]);
+			for (int i = 0 ; i < expectedClip.getFrameCount() ; i++) {
+				Assertions.assertEquals(expectedClip.getFrame(i), clip.getFrame(i));
+				Assertions.assertEquals(expectedClip.getCollisionBox(i), clip.getCollisionBox(i));
+				Assertions.assertEquals(expectedClip.getHitbox(i), clip.getHitbox(i));
+			}
+
+			final var image = pack.readSheetImage("valid");
+			Assertions.assertEquals(expectedImage.getWidth(), image.getWidth());
+			Assertions.assertEquals(expectedImage.getHeight(), image.getHeight());
+			for (int y = 0 ; y < image.getHeight() ; y++) {
+				for (int x = 0 ; x < image.getWidth() ; x++) {
+					Assertions.assertEquals(expectedImage.getRGB(x, y), image.getRGB(x, y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMountedPackIsUsedByLoaders() throws IOException {
+		final var spriteName = "packed";
+		final var path = directory.resolve("sprites.v2dpack");
+		new SpritePackWriter()
+			.addSheet(spriteName, SpriteSheet.load("valid").getImage())
+			.addClip(AnimationClip.fromTables(spriteName, "idle", new int[] { 0, 0, 32, 32, 250 }, null, null))
+			.write(path);
+
+		Assertions.assertThrows(Exception.class, () -> AnimationClip.load(spriteName, "idle"));
+
+		try (final var pack = SpritePack.mount(path)) {
+			final var clip = AnimationClip.load(spriteName, "idle");
+			Assertions.assertEquals(1, clip.getFrameCount());
+			Assertions.assertEquals(250, clip.getFrame(0).duration());
+			Assertions.assertEquals(64, SpriteSheet.load(spriteName).getImage().getHeight());
+		}
+
+		Assertions.assertThrows(Exception.class, () -> AnimationClip.load(spriteName, "idle"));
+	}
+
+	@Test
+	public void testMountingKeepsInstalledAtlases() throws IOException {
+		final var path = directory.resolve("sprites.v2dpack");
+		new SpritePackWriter().addSprite("valid", "idle").write(path);
+
+		final var atlas = new AtlasBuilder().addSprite("valid", "idle").install().get(0);
+		try {
+			try (final var pack = SpritePack.mount(path)) {
+				Assertions.assertSame(atlas, SpriteSheet.load("valid").getImage());
+			}
+
+			Assertions.assertSame(atlas, SpriteSheet.load("valid").getImage());
+		} finally {
+			AssetCache.unpin(SpriteSheet.getKey("valid"));
+			AssetCache.unpin(AnimationClip.getKey("valid", "idle"));
+			AssetCache.invalidate(SpriteSheet.getKey("valid"));
+			AssetCache.invalidate(AnimationClip.getKey("valid", "idle"));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "not a pack" })
+	public void testOpenRejectsInvalidFiles(final String contents) throws IOException {
+		final var path = directory.resolve("invalid.v2dpack");
+		Files.writeString(path, contents);
+		Assertions.assertThrows(IOException.class, () -> SpritePack.open(path));
+	}
+}
@@ -0,0 +1,96 @@
+package com.valkryst.V2DSprite;
+
+import com.valkryst.V2DSprite.cache.AssetCache;
+import com.valkryst.V2DSprite.source.ClasspathSpriteSource;
+import com.valkryst.V2DSprite.source.MemorySpriteSource;
+import com.valkryst.V2DSprite.source.SpriteSources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class SpriteSheetTest {
+	private final static int BLACK = 0xFF000000;
+	private final static int WHITE = 0xFFFFFFFF;
+	private final static int GREY = 0xFF7F7F7F;
+
+	@AfterEach
+	public void reset() {
+		SpriteSheet.setMipmapped(false);
+		SpriteSources.setSource(new ClasspathSpriteSource());
+	}
+
+	@Test
+	public void testGetMipLevel() {
+		final var sheet = SpriteSheet.load("valid");
+		final var sizeInBytes = sheet.getSizeInBytes();
+
+		final int[][] sizes = { { 96, 64 }, { 48, 32 }, { 24, 16 }, { 12, 8 }, { 6, 4 }, { 3, 2 }, { 2, 1 }, { 1, 1 } };
+		for (int i = 0 ; i < sizes.length ; i++) {
+			Assertions.assertEquals(sizes[i][0], sheet.getMipLevel(i).getWidth());
+			Assertions.assertEquals(sizes[i][1], sheet.getMipLevel(i).getHeight());
+		}
+
+		Assertions.assertSame(sheet.getImage(), sheet.getMipLevel(0));
+		Assertions.assertSame(sheet.getMipLevel(sizes.length - 1), sheet.getMipLevel(sizes.length + 5));
+		Assertions.assertTrue(sheet.getSizeInBytes() > sizeInBytes);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> sheet.getMipLevel(-1));
+	}
+
+	@Test
+	public void testLazyMipLevelsAreWeighed() {
+		AssetCache.invalidate(SpriteSheet.getKey("valid"));
+		final var sheet = SpriteSheet.load("valid");
+
+		final var sizeInBytes = AssetCache.getSize();
+		final var level = sheet.getMipLevel(1);
+		Assertions.assertTrue(AssetCache.getSize() >= sizeInBytes + AssetCache.getSizeInBytes(level));
+	}
+
+	@Test
+	public void testDrawFromMipLevel() throws IOException {
+		final var image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0 ; y < 4 ; y++) {
+			for (int x = 0 ; x < 4 ; x++) {
+				image.setRGB(x, y, (x + y) % 2 == 0 ? BLACK : WHITE);
+			}
+		}
+
+		final var output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+
+		SpriteSources.setSource(new MemorySpriteSource()
+			.put("checkers/image.png", output.toByteArray())
+			.put("checkers/animations/idle_frame.tsv", "0\t0\t4\t4\t100".getBytes(StandardCharsets.US_ASCII))
+			.put("checkers/animations/idle_collisionbox.tsv", new byte[0])
+			.put("checkers/animations/idle_hitbox.tsv", new byte[0]));
+
+		final var animation = new Animation("checkers", "idle");
+
+		// Shrinking the full-size frame picks either black or white pixels, while the mip level has averaged them.
+		Assertions.assertNotEquals(GREY, drawHalfSize(animation).getRGB(0, 0));
+
+		SpriteSheet.setMipmapped(true);
+		final var actual = drawHalfSize(animation);
+		for (int y = 0 ; y < 2 ; y++) {
+			for (int x = 0 ; x < 2 ; x++) {
+				Assertions.assertEquals(GREY, actual.getRGB(x, y));
+			}
+		}
+	}
+
+	private static BufferedImage drawHalfSize(final Animation animation) {
+		final var image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+		final var gc = image.createGraphics();
+		gc.setClip(0, 0, 8, 8);
+		animation.draw(gc, AffineTransform.getScaleInstance(0.5, 0.5));
+		gc.dispose();
+		return image;
+	}
+}
@@ -0,0 +1,54 @@
+package com.valkryst.V2DSprite;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+
+public class TiledRendererTest {
+	@Test
+	public void testRenderMatchesSequentialDraws() {
+		final var random = new Random(0);
+		final var renderer = new TiledRenderer();
+		renderer.setTileSize(37);
+
+		// Each submission is an animation, an x-axis position, a y-axis position, and a z-order.
+		final var submissions = new ArrayList<Object[]>();
+		for (int i = 0 ; i < 500 ; i++) {
+			final var animation = new Animation("valid", "idle");
+			animation.update(random.nextInt(6000));
+
+			final var submission = new Object[] { animation, random.nextInt(-32, 200), random.nextInt(-32, 150), random.nextInt(-4, 4) };
+			submissions.add(submission);
+			renderer.submit(animation, (int) submission[1], (int) submission[2], (int) submission[3]);
+		}
+
+		final var expected = new BufferedImage(200, 150, BufferedImage.TYPE_INT_ARGB);
+		final var gc = expected.createGraphics();
+		submissions.sort(Comparator.comparingInt(submission -> (int) submission[3]));
+		for (final var submission : submissions) {
+			((Animation) submission[0]).draw(gc, (int) submission[1], (int) submission[2]);
+		}
+		gc.dispose();
+
+		final var actual = new BufferedImage(200, 150, BufferedImage.TYPE_INT_ARGB);
+		renderer.render(actual);
+		Assertions.assertEquals(0, renderer.size());
+
+		for (int y = 0 ; y < expected.getHeight() ; y++) {
+			for (int x = 0 ; x < expected.getWidth() ; x++) {
+				Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testSetTileSize() {
+		final var renderer = new TiledRenderer();
+		Assertions.assertThrows(IllegalArgumentException.class, () -> renderer.setTileSize(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new TiledRenderer(0));
+	}
+}
@@ -0,0 +1,85 @@
+package com.valkryst.V2DSprite;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures the throughput of parsing a large frame table with
+ * {@link TsvParser}, compared to the previous approach of reading lines and
+ * splitting each one with a regex.
+ */
+public class TsvParserBenchmark {
+	private final static int ROWS = 500_000;
+
+	private final static int ITERATIONS = 10;
+
+	public static void main(final String[] args) throws Exception {
+		final var random = new Random(0);
+		final var text = new StringBuilder();
+		for (int i = 0 ; i < ROWS ; i++) {
+			text.append(random.nextInt(4096)).append('\t')
+				.append(random.nextInt(4096)).append('\t')
+				.append(random.nextInt(256)).append('\t')
+				.append(random.nextInt(256)).append('\t')
+				.append(random.nextInt(1000)).append('\n');
+		}
+		final var bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+
+		long checksum = 0;
+		for (int warmup = 0 ; warmup < 2 ; warmup++) {
+			checksum += parseWithSplit(bytes).length + parseWithTsvParser(bytes).length;
+		}
+
+		var start = System.nanoTime();
+		for (int i = 0 ; i < ITERATIONS ; i++) {
+			checksum += parseWithSplit(bytes).length;
+		}
+		final var splitElapsed = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0 ; i < ITERATIONS ; i++) {
+			checksum += parseWithTsvParser(bytes).length;
+		}
+		final var parserElapsed = System.nanoTime() - start;
+
+		System.out.printf("String#split: %,12.0f rows/s%n", ROWS * ITERATIONS / (splitElapsed / 1e9));
+		System.out.printf("TsvParser:    %,12.0f rows/s%n", ROWS * ITERATIONS / (parserElapsed / 1e9));
+		System.out.printf("Speed-up:     %12.1fx (checksum %d)%n", splitElapsed / (double) parserElapsed, checksum);
+	}
+
+	private static Frame[] parseWithSplit(final byte[] bytes) throws Exception {
+		final var reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes)));
+		final var lines = reader.lines().toList();
+		reader.close();
+
+		final var frames = new Frame[lines.size()];
+		for (int i = 0 ; i < frames.length ; i++) {
+			final var split = lines.get(i).split(Arrays.toString(Character.toChars('\t')));
+			frames[i] = new Frame(
+				Integer.parseInt(split[0]),
+				Integer.parseInt(split[1]),
+				Integer.parseInt(split[2]),
+				Integer.parseInt(split[3]),
+				Integer.parseInt(split[4])
+			);
+		}
+
+		return frames;
+	}
+
+	private static Frame[] parseWithTsvParser(final byte[] bytes) throws Exception {
+		final var values = TsvParser.parse(new ByteArrayInputStream(bytes), "benchmark", 5, '\t');
+
+		final var frames = new Frame[values.length / 5];
+		for (int i = 0 ; i < frames.length ; i++) {
+			final var offset = i * 5;
+			frames[i] = new Frame(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]);
+		}
+
+		return frames;
+	}
+}
@@ -0,0 +1,51 @@
+package com.valkryst.V2DSprite;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+
+public class TsvParserTest {
+	@Test
+	public void testParse() throws Exception {
+		final var values = parse("0\t1\t2\n-3\t4\t2147483647\r\n\n-2147483648\t6\t7\t");
+		Assertions.assertArrayEquals(new int[] { 0, 1, 2, -3, 4, Integer.MAX_VALUE, Integer.MIN_VALUE, 6, 7 }, values);
+	}
+
+	@Test
+	public void testParseEmpty() throws Exception {
+		Assertions.assertEquals(0, parse("").length);
+		Assertions.assertEquals(0, parse("\n\r\n").length);
+	}
+
+	@Test
+	public void testParseReportsLineAndColumn() {
+		assertError("0\t1\t2\n3\ta\t5", "Line 2, column 3");
+		assertError("0\t1\t2\n3\t4", "Line 2, column 4");
+		assertError("0\t1\t2\t3", "Line 1, column 7");
+		assertError("0\t\t2", "Line 1, column 3");
+		assertError("0\t-\t2", "Line 1, column 3");
+		assertError("0\t1\t2147483648", "Line 1, column 5");
+	}
+
+	@Test
+	public void testParseLine() throws DataFormatException {
+		final var values = new int[3];
+		TsvParser.parseLine("1,-2,3,,", ',', values);
+		Assertions.assertArrayEquals(new int[] { 1, -2, 3 }, values);
+
+		Assertions.assertThrows(DataFormatException.class, () -> TsvParser.parseLine("1,2", ',', values));
+		Assertions.assertThrows(NumberFormatException.class, () -> TsvParser.parseLine("1,,3", ',', values));
+	}
+
+	private static int[] parse(final String text) throws Exception {
+		return TsvParser.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), "test.tsv", 3, '\t');
+	}
+
+	private static void assertError(final String text, final String position) {
+		final var exception = Assertions.assertThrows(DataFormatException.class, () -> parse(text));
+		Assertions.assertTrue(exception.getMessage().startsWith(position + " of 'test.tsv'"), exception.getMessage());
+	}
+}
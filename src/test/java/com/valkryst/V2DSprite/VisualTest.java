@@ -67,15 +67,20 @@ public class VisualTest {
 		});
 
 
+		final var tracker = new DirtyRegionTracker(new Rectangle(0, 0, canvas.getWidth(), canvas.getHeight()));
+		tracker.setPosition(animation, 0, 0);
+
 		final var executorService = Executors.newSingleThreadScheduledExecutor();
 		executorService.scheduleAtFixedRate(() -> {
 			System.out.println("\n\nTICK");
 			animation.update(1);
 
 			final var gc = (Graphics2D) canvas.getGraphics();
-			gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
-			gc.setClip(0, 0, canvas.getWidth(), canvas.getHeight());
-			animation.draw(gc);
+			for (final var region : tracker.collectDirtyRegions()) {
+				gc.clearRect(region.x, region.y, region.width, region.height);
+				tracker.draw(gc, region);
+			}
+			gc.dispose();
 		}, 0, 1000, TimeUnit.MILLISECONDS);
     }
 }
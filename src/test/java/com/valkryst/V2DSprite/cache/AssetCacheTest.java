@@ -0,0 +1,213 @@
+package com.valkryst.V2DSprite.cache;
+
+import com.valkryst.V2DSprite.AnimationClip;
+import com.valkryst.V2DSprite.SpriteSheet;
+import com.valkryst.V2DSprite.listener.AssetEvictionListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AssetCacheTest {
+	private final static int THREAD_COUNT = 64;
+
+	@Test
+	public void testGetLoadsOnceUnderContention() throws Exception {
+		final var key = new AssetKey<>(String.class, "contended", "asset");
+		final var loads = new AtomicInteger();
+
+		final var results = runConcurrently(() -> AssetCache.get(key, ignored -> {
+			loads.incrementAndGet();
+			Thread.sleep(50);
+			return new String("value");
+		}));
+
+		Assertions.assertEquals(1, loads.get());
+		for (final var result : results) {
+			Assertions.assertSame(results.get(0), result);
+		}
+	}
+
+	@Test
+	public void testSpriteSheetLoadsOnceUnderContention() throws Exception {
+		AssetCache.invalidate(SpriteSheet.getKey("valid"));
+
+		final var results = runConcurrently(() -> SpriteSheet.load("valid"));
+		for (final var result : results) {
+			Assertions.assertSame(results.get(0), result);
+		}
+	}
+
+	@Test
+	public void testAnimationClipLoadsOnceUnderContention() throws Exception {
+		AssetCache.invalidate(AnimationClip.getKey("valid", "idle"));
+
+		final var results = runConcurrently(() -> AnimationClip.load("valid", "idle"));
+		for (final var result : results) {
+			Assertions.assertSame(results.get(0), result);
+		}
+	}
+
+	@Test
+	public void testGetAsyncSharesPendingLoad() throws Exception {
+		final var key = new AssetKey<>(String.class, "async", null);
+		final var loads = new AtomicInteger();
+		final AssetCache.AssetLoader<String> loader = ignored -> {
+			loads.incrementAndGet();
+			Thread.sleep(50);
+			return "value";
+		};
+
+		final var first = AssetCache.getAsync(key, loader);
+		final var second = AssetCache.getAsync(key, loader);
+		Assertions.assertEquals("value", first.get());
+		Assertions.assertEquals("value", second.get());
+		Assertions.assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testPreloadAsync() throws Exception {
+		final var progress = new ArrayList<Integer>();
+
+		final var sheets = SpriteSheet.preloadAsync(List.of("valid", "valid"), (loaded, total) -> {
+			Assertions.assertEquals(2, total);
+			synchronized (progress) {
+				progress.add(loaded);
+			}
+		}).get();
+		Assertions.assertSame(sheets.get(0), sheets.get(1));
+		Assertions.assertSame(SpriteSheet.load("valid"), sheets.get(0));
+		Assertions.assertEquals(List.of(1, 2), progress.stream().sorted().toList());
+
+		final var clips = AnimationClip.preloadAsync(Map.of("valid", List.of("idle"))).get();
+		Assertions.assertSame(AnimationClip.load("valid", "idle"), clips.get(0));
+	}
+
+	@Test
+	public void testKeysDoNotCollide() {
+		// "Aa" and "BB" have the same hash code.
+		final var first = new AssetKey<>(String.class, "Aa", "BB");
+		final var second = new AssetKey<>(String.class, "BB", "Aa");
+
+		Assertions.assertEquals("first", AssetCache.get(first, ignored -> "first"));
+		Assertions.assertEquals("second", AssetCache.get(second, ignored -> "second"));
+		Assertions.assertEquals("first", AssetCache.getIfPresent(first));
+	}
+
+	@Test
+	public void testGetRethrowsLoaderException() {
+		final var key = new AssetKey<>(String.class, "broken", null);
+
+		Assertions.assertThrows(IOException.class, () -> {
+			AssetCache.get(key, ignored -> {
+				throw new IOException();
+			});
+		});
+		Assertions.assertNull(AssetCache.getIfPresent(key));
+	}
+
+	@Test
+	public void testInvalidatedLoadIsNotCached() throws Exception {
+		final var key = new AssetKey<>(String.class, "invalidated", null);
+		final var latch = new CountDownLatch(1);
+
+		final var future = AssetCache.getAsync(key, ignored -> {
+			latch.await();
+			return "stale";
+		});
+
+		AssetCache.invalidate(key);
+		latch.countDown();
+
+		Assertions.assertEquals("stale", future.get());
+		Assertions.assertNull(AssetCache.getIfPresent(key));
+		Assertions.assertEquals("fresh", AssetCache.get(key, ignored -> "fresh"));
+	}
+
+	@Test
+	public void testPinnedAssetsAreNotEvicted() {
+		final var pinnedKey = new AssetKey<>(SizedAsset.class, "pinned", null);
+		final var otherKey = new AssetKey<>(SizedAsset.class, "other", null);
+		final SizedAsset pinned = () -> 600;
+		final SizedAsset other = () -> 600;
+
+		final var evictions = new ArrayList<AssetKey<?>>();
+		final AssetEvictionListener listener = (key, asset, cause) -> {
+			synchronized (evictions) {
+				evictions.add(key);
+			}
+		};
+
+		final var maximumSize = AssetCache.getMaximumSize();
+		AssetCache.addAssetEvictionListener(listener);
+		try {
+			AssetCache.invalidateAll();
+			AssetCache.setMaximumSize(1000);
+			AssetCache.pin(pinnedKey);
+			AssetCache.put(pinnedKey, pinned);
+			AssetCache.put(otherKey, other);
+			Assertions.assertEquals(600, AssetCache.getSize());
+
+			AssetCache.setMaximumSize(500);
+			AssetCache.getSize();
+			Assertions.assertSame(pinned, AssetCache.getIfPresent(pinnedKey));
+			Assertions.assertNull(AssetCache.getIfPresent(otherKey));
+			Assertions.assertTrue(evictions.contains(otherKey));
+
+			AssetCache.unpin(pinnedKey);
+			AssetCache.getSize();
+			Assertions.assertFalse(AssetCache.isPinned(pinnedKey));
+			Assertions.assertNull(AssetCache.getIfPresent(pinnedKey));
+		} finally {
+			AssetCache.removeAssetEvictionListener(listener);
+			AssetCache.unpin(pinnedKey);
+			AssetCache.setMaximumSize(maximumSize);
+		}
+	}
+
+	@Test
+	public void testSpriteSheetIsWeighedByRasterSize() {
+		final var sheet = SpriteSheet.load("valid");
+		final var image = sheet.getImage();
+		Assertions.assertTrue(sheet.getSizeInBytes() >= (long) image.getWidth() * image.getHeight());
+	}
+
+	/**
+	 * Runs a task on many threads, which all start at the same time.
+	 *
+	 * @param task The task.
+	 *
+	 * @return The result of each thread.
+	 */
+	private static <T> List<T> runConcurrently(final Callable<T> task) throws Exception {
+		final var executor = Executors.newFixedThreadPool(THREAD_COUNT);
+		final var startGate = new CountDownLatch(1);
+
+		try {
+			final var futures = new ArrayList<Future<T>>();
+			for (int i = 0 ; i < THREAD_COUNT ; i++) {
+				futures.add(executor.submit(() -> {
+					startGate.await();
+					return task.call();
+				}));
+			}
+			startGate.countDown();
+
+			final var results = new ArrayList<T>();
+			for (final var future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
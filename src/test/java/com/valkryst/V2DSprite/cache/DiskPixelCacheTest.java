@@ -0,0 +1,144 @@
+package com.valkryst.V2DSprite.cache;
+
+import com.valkryst.V2DSprite.SpriteSheet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class DiskPixelCacheTest {
+	@TempDir
+	private Path directory;
+
+	@AfterEach
+	public void disableCache() throws IOException {
+		DiskPixelCache.setDirectory(null);
+		AssetCache.invalidateAll();
+	}
+
+	@Test
+	public void testRoundTripIntImage() throws IOException {
+		DiskPixelCache.setDirectory(directory);
+
+		final var image = createImage(BufferedImage.TYPE_INT_ARGB);
+		DiskPixelCache.put("int", image);
+
+		final var cachedImage = DiskPixelCache.get("int");
+		Assertions.assertNotNull(cachedImage);
+		Assertions.assertEquals(BufferedImage.TYPE_INT_ARGB, cachedImage.getType());
+		assertPixelsEqual(image, cachedImage);
+	}
+
+	@Test
+	public void testRoundTripByteImage() throws IOException {
+		DiskPixelCache.setDirectory(directory);
+
+		final var image = createImage(BufferedImage.TYPE_4BYTE_ABGR);
+		DiskPixelCache.put("byte", image);
+
+		final var cachedImage = DiskPixelCache.get("byte");
+		Assertions.assertNotNull(cachedImage);
+		Assertions.assertEquals(BufferedImage.TYPE_4BYTE_ABGR, cachedImage.getType());
+		assertPixelsEqual(image, cachedImage);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 2, 8 })
+	public void testRoundTripIndexedImage(final int bits) throws IOException {
+		DiskPixelCache.setDirectory(directory);
+
+		final var palette = new int[1 << bits];
+		for (int i = 0 ; i < palette.length ; i++) {
+			palette[i] = (i * 85) << 24 | i << 16 | 0x40FF;
+		}
+
+		final var colorModel = new IndexColorModel(bits, palette.length, palette, 0, true, -1, DataBuffer.TYPE_BYTE);
+		final var image = new BufferedImage(7, 5, bits == 8 ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_BYTE_BINARY, colorModel);
+		for (int y = 0 ; y < image.getHeight() ; y++) {
+			for (int x = 0 ; x < image.getWidth() ; x++) {
+				image.getRaster().setSample(x, y, 0, (x + y) % palette.length);
+			}
+		}
+		DiskPixelCache.put("indexed", image);
+
+		final var cachedImage = DiskPixelCache.get("indexed");
+		Assertions.assertNotNull(cachedImage);
+		Assertions.assertEquals(BufferedImage.TYPE_BYTE_INDEXED, cachedImage.getType());
+		Assertions.assertEquals(palette.length, ((IndexColorModel) cachedImage.getColorModel()).getMapSize());
+		assertPixelsEqual(image, cachedImage);
+	}
+
+	@Test
+	public void testGetWithMissingKey() throws IOException {
+		DiskPixelCache.setDirectory(directory);
+		DiskPixelCache.put(DiskPixelCache.getKey(new byte[] { 1 }), createImage(BufferedImage.TYPE_INT_ARGB));
+
+		Assertions.assertNull(DiskPixelCache.get(DiskPixelCache.getKey(new byte[] { 2 })));
+	}
+
+	@Test
+	public void testGetWithCorruptEntry() throws IOException {
+		DiskPixelCache.setDirectory(directory);
+		DiskPixelCache.put("corrupt", createImage(BufferedImage.TYPE_INT_ARGB));
+
+		final var file = directory.resolve("corrupt.pixels");
+		final var bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+		Assertions.assertNull(DiskPixelCache.get("corrupt"));
+		Assertions.assertFalse(Files.exists(file));
+	}
+
+	@Test
+	public void testGetWhenDisabled() {
+		Assertions.assertFalse(DiskPixelCache.isEnabled());
+		Assertions.assertNull(DiskPixelCache.get("anything"));
+	}
+
+	@Test
+	public void testSpriteSheetUsesCache() throws IOException {
+		final var decodedImage = SpriteSheet.load("valid").getImage();
+
+		DiskPixelCache.setDirectory(directory);
+		AssetCache.invalidateAll();
+		SpriteSheet.load("valid");
+
+		try (final var stream = Files.list(directory)) {
+			Assertions.assertEquals(1, stream.count());
+		}
+
+		AssetCache.invalidateAll();
+		assertPixelsEqual(decodedImage, SpriteSheet.load("valid").getImage());
+	}
+
+	private static BufferedImage createImage(final int type) {
+		final var image = new BufferedImage(7, 5, type);
+		for (int y = 0 ; y < image.getHeight() ; y++) {
+			for (int x = 0 ; x < image.getWidth() ; x++) {
+				image.setRGB(x, y, (x * 40) << 24 | (y * 50) << 16 | x * y << 8 | 0x7F);
+			}
+		}
+		return image;
+	}
+
+	private static void assertPixelsEqual(final BufferedImage expected, final BufferedImage actual) {
+		Assertions.assertEquals(expected.getWidth(), actual.getWidth());
+		Assertions.assertEquals(expected.getHeight(), actual.getHeight());
+
+		for (int y = 0 ; y < expected.getHeight() ; y++) {
+			for (int x = 0 ; x < expected.getWidth() ; x++) {
+				Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.valkryst.V2DSprite.source;
+
+import com.valkryst.V2DSprite.AnimationClip;
+import com.valkryst.V2DSprite.SpriteSheet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+public class SpriteSourceTest {
+	private final static String FRAME_PATH = "valid/animations/idle_frame.tsv";
+
+	@TempDir
+	private Path directory;
+
+	@AfterEach
+	public void resetSource() {
+		SpriteSources.setSource(new ClasspathSpriteSource());
+	}
+
+	@Test
+	public void testClasspathSource() throws IOException {
+		final var source = new ClasspathSpriteSource();
+		Assertions.assertTrue(source.exists(FRAME_PATH));
+		Assertions.assertFalse(source.exists("valid/animations/walk_frame.tsv"));
+		Assertions.assertNull(source.open("valid/animations/walk_frame.tsv"));
+		Assertions.assertArrayEquals(readClasspath(FRAME_PATH), read(source, FRAME_PATH));
+	}
+
+	@Test
+	public void testDirectorySource() throws IOException {
+		Files.createDirectories(directory.resolve("valid/animations"));
+		Files.write(directory.resolve(FRAME_PATH), readClasspath(FRAME_PATH));
+
+		final var source = new DirectorySpriteSource(directory);
+		Assertions.assertTrue(source.exists(FRAME_PATH));
+		Assertions.assertNull(source.open("valid/image.png"));
+		Assertions.assertArrayEquals(readClasspath(FRAME_PATH), read(source, FRAME_PATH));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> source.open("../outside.tsv"));
+	}
+
+	@Test
+	public void testZipSource() throws IOException {
+		final var zipFile = directory.resolve("sprites.zip");
+		try (final var fileSystem = FileSystems.newFileSystem(URI.create("jar:" + zipFile.toUri()), Map.of("create", "true"))) {
+			final var path = fileSystem.getPath("/sprites/" + FRAME_PATH);
+			Files.createDirectories(path.getParent());
+			Files.write(path, readClasspath(FRAME_PATH));
+		}
+
+		try (final var source = new ZipSpriteSource(zipFile)) {
+			Assertions.assertTrue(source.exists(FRAME_PATH));
+			Assertions.assertNull(source.open("valid/image.png"));
+			Assertions.assertArrayEquals(readClasspath(FRAME_PATH), read(source, FRAME_PATH));
+		}
+	}
+
+	@Test
+	public void testCompositeSourceOverlaysInOrder() throws IOException {
+		final var overlay = new MemorySpriteSource()
+			.put(FRAME_PATH, "0\t0\t16\t16\t500".getBytes(StandardCharsets.US_ASCII))
+			.put("valid/animations/idle_collisionbox.tsv", new byte[0])
+			.put("valid/animations/idle_hitbox.tsv", new byte[0]);
+		final var source = new CompositeSpriteSource(overlay, new ClasspathSpriteSource());
+
+		Assertions.assertArrayEquals(read(overlay, FRAME_PATH), read(source, FRAME_PATH));
+		Assertions.assertArrayEquals(readClasspath("valid/image.png"), read(source, "valid/image.png"));
+		Assertions.assertFalse(source.exists("missing/image.png"));
+
+		SpriteSources.setSource(source);
+		final var clip = AnimationClip.load("valid", "idle");
+		Assertions.assertEquals(1, clip.getFrameCount());
+		Assertions.assertEquals(500, clip.getFrame(0).duration());
+		Assertions.assertEquals(96, SpriteSheet.load("valid").getImage().getWidth());
+
+		SpriteSources.setSource(new ClasspathSpriteSource());
+		Assertions.assertEquals(6, AnimationClip.load("valid", "idle").getFrameCount());
+	}
+
+	private static byte[] read(final SpriteSource source, final String path) throws IOException {
+		try (final var inputStream = source.open(path)) {
+			return inputStream.readAllBytes();
+		}
+	}
+
+	private static byte[] readClasspath(final String path) throws IOException {
+		try (final var inputStream = SpriteSourceTest.class.getResourceAsStream("/sprites/" + path)) {
+			return inputStream.readAllBytes();
+		}
+	}
+}